@@ -1,16 +1,37 @@
 package softcore.tictactoe.api.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import softcore.tictactoe.api.model.BatchMoveResponse;
+import softcore.tictactoe.api.model.CompactGameResponse;
 import softcore.tictactoe.api.model.GameCreateResponse;
 import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.api.model.GameMoveRequest;
 import softcore.tictactoe.api.model.MakeMoveCommand;
 import softcore.tictactoe.api.model.MakeMoveRequest;
+import softcore.tictactoe.common.enums.GameMode;
+import softcore.tictactoe.common.enums.PlayerSymbol;
 import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
 import softcore.tictactoe.facade.GameFacade;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/games")
@@ -20,18 +41,93 @@ public class GameController {
     private final GameFacade gameFacade;
 
     @PostMapping
-    public ResponseEntity<GameCreateResponse> createGame() {
-        GameDto dto = gameFacade.createNewGame();
+    public ResponseEntity<GameCreateResponse> createGame(
+            @RequestParam(defaultValue = "pvp") GameMode mode,
+            @RequestParam(defaultValue = "X") PlayerSymbol player,
+            @RequestParam(defaultValue = "3") int size,
+            @RequestParam(required = false) Integer winLength,
+            @RequestParam(required = false) String xPlayerId,
+            @RequestParam(required = false) String oPlayerId) {
+
+        GameDto dto = gameFacade.createNewGame(mode, player, size, winLength, new GamePlayers(xPlayerId, oPlayerId));
         return ResponseEntity.ok(GameCreateResponse.from(dto));
     }
 
-    @GetMapping("/{gameId}")
-    public ResponseEntity<GameDetailsResponse> getGame(@PathVariable UUID gameId) {
-        return ResponseEntity.ok(gameFacade.getGameDetails(gameId));
+    @PostMapping("/bulk")
+    public ResponseEntity<StreamingResponseBody> createGames(@RequestParam int count) {
+        gameFacade.requireValidGameCount(count);
+        StreamingResponseBody body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write('[');
+            boolean[] first = {true};
+
+            gameFacade.createNewGames(count, ids -> {
+                try {
+                    for (UUID id : ids) {
+                        if (!first[0]) {
+                            writer.write(',');
+                        }
+                        first[0] = false;
+                        writer.write('"');
+                        writer.write(id.toString());
+                        writer.write('"');
+                    }
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            writer.write(']');
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * The ETag is the game version; a matching If-None-Match is answered with 304 from
+     * the cached state, without building the response.
+     */
+    @GetMapping(path = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GameDetailsResponse> getGame(@PathVariable UUID gameId, WebRequest request) {
+        GameDto game = gameFacade.getGame(gameId);
+        if (request.checkNotModified(game.version())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(game.version()).body(gameFacade.getGameDetails(game));
     }
 
-    @PostMapping("/{gameId}/move")
-    public ResponseEntity<GameDetailsResponse> makeMove(
+    /**
+     * Long-poll variant: with If-None-Match naming the current version the response waits
+     * up to {@code wait} seconds for the next move, then answers 304.
+     */
+    @GetMapping(path = "/{gameId}", params = "wait", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<GameDetailsResponse>> awaitGame(
+            @PathVariable UUID gameId,
+            @RequestParam("wait") long waitSeconds,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return gameFacade.awaitGameDetails(gameId, ifNoneMatch, Duration.ofSeconds(waitSeconds));
+    }
+
+    @GetMapping(path = "/{gameId}", produces = CompactGameResponse.MEDIA_TYPE)
+    public ResponseEntity<CompactGameResponse> getCompactGame(@PathVariable UUID gameId, WebRequest request) {
+        GameDto game = gameFacade.getGame(gameId);
+        String eTag = game.version() + "-compact";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(new CompactGameResponse(game));
+    }
+
+    @GetMapping(path = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable UUID gameId) {
+        return gameFacade.subscribe(gameId);
+    }
+
+    @PostMapping(path = "/{gameId}/move", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<GameDetailsResponse>> makeMove(
             @PathVariable UUID gameId,
             @RequestBody MakeMoveRequest request) {
 
@@ -41,6 +137,36 @@ public class GameController {
                 request.y(),
                 request.player()
         );
-        return ResponseEntity.ok(gameFacade.makeMove(command));
+        return gameFacade.makeMove(command).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping(path = "/{gameId}/move", produces = CompactGameResponse.MEDIA_TYPE)
+    public CompletableFuture<ResponseEntity<CompactGameResponse>> makeCompactMove(
+            @PathVariable UUID gameId,
+            @RequestBody MakeMoveRequest request) {
+
+        MakeMoveCommand command = new MakeMoveCommand(
+                gameId,
+                request.x(),
+                request.y(),
+                request.player()
+        );
+        return gameFacade.makeCompactMove(command).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{gameId}/moves")
+    public ResponseEntity<BatchMoveResponse> makeMoves(
+            @PathVariable UUID gameId,
+            @RequestBody List<MakeMoveRequest> requests) {
+
+        List<MakeMoveCommand> commands = requests.stream()
+                .map(request -> new MakeMoveCommand(gameId, request.x(), request.y(), request.player()))
+                .toList();
+        return ResponseEntity.ok(gameFacade.makeMoves(gameId, commands));
+    }
+
+    @PostMapping("/moves")
+    public ResponseEntity<List<BatchMoveResponse>> makeMovesForGames(@RequestBody List<GameMoveRequest> requests) {
+        return ResponseEntity.ok(gameFacade.makeMoves(requests));
     }
 }
\ No newline at end of file
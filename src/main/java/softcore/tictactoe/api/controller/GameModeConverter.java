@@ -0,0 +1,14 @@
+package softcore.tictactoe.api.controller;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.common.enums.GameMode;
+
+@Component
+public class GameModeConverter implements Converter<String, GameMode> {
+
+    @Override
+    public GameMode convert(String source) {
+        return GameMode.fromValue(source);
+    }
+}
@@ -0,0 +1,38 @@
+package softcore.tictactoe.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import softcore.tictactoe.api.model.MatchTicketRequest;
+import softcore.tictactoe.api.model.MatchTicketResponse;
+import softcore.tictactoe.domain.matchmaking.MatchTicket;
+import softcore.tictactoe.domain.matchmaking.Matchmaker;
+
+import java.util.UUID;
+
+/**
+ * Players join the lobby with a ticket and poll it until it names their game.
+ */
+@RestController
+@RequestMapping("/api/matchmaking/tickets")
+@RequiredArgsConstructor
+public class MatchmakingController {
+
+    private final Matchmaker matchmaker;
+
+    @PostMapping
+    public ResponseEntity<MatchTicketResponse> joinLobby(@RequestBody MatchTicketRequest request) {
+        MatchTicket ticket = matchmaker.enqueue(request.playerId(), request.rating());
+        return ResponseEntity.accepted().body(MatchTicketResponse.from(ticket));
+    }
+
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<MatchTicketResponse> getTicket(@PathVariable UUID ticketId) {
+        return ResponseEntity.of(matchmaker.find(ticketId).map(MatchTicketResponse::from));
+    }
+
+    @DeleteMapping("/{ticketId}")
+    public ResponseEntity<MatchTicketResponse> leaveLobby(@PathVariable UUID ticketId) {
+        return ResponseEntity.of(matchmaker.cancel(ticketId).map(MatchTicketResponse::from));
+    }
+}
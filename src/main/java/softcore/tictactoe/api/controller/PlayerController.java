@@ -0,0 +1,29 @@
+package softcore.tictactoe.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import softcore.tictactoe.api.model.PlayerStatsResponse;
+import softcore.tictactoe.domain.service.PlayerStatsService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/players")
+@RequiredArgsConstructor
+public class PlayerController {
+
+    private final PlayerStatsService playerStatsService;
+
+    @GetMapping("/{playerId}/stats")
+    public ResponseEntity<PlayerStatsResponse> getStats(@PathVariable String playerId) {
+        return ResponseEntity.of(playerStatsService.getStats(playerId).map(PlayerStatsResponse::from));
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<PlayerStatsResponse>> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(playerStatsService.getLeaderboard(limit).stream()
+                .map(PlayerStatsResponse::from)
+                .toList());
+    }
+}
@@ -0,0 +1,231 @@
+package softcore.tictactoe.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import softcore.tictactoe.domain.cluster.ClusterProperties;
+import softcore.tictactoe.domain.cluster.GameOwnership;
+import softcore.tictactoe.domain.mailbox.GameMailboxProperties;
+import softcore.tictactoe.domain.matchmaking.Matchmaker;
+import softcore.tictactoe.persistance.writebehind.WriteBehindProperties;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends requests for a game owned by another node to that node, so each game's cache
+ * lives on one node only. Matchmaking requests go to the node owning the lobby.
+ * Requests that already came through another node are always served locally, so nodes
+ * that briefly disagree on the membership cannot bounce a request between them. A
+ * forwarding node signs the hop with an HMAC of its node id, the time and the request
+ * line under the shared forward-secret; forwarding headers a client made up are
+ * ignored and not passed on. The signature does not cover the body: whoever can read a signed hop between the
+ * nodes can replay its headers with another body for a minute, so the links between
+ * nodes must not be reachable by clients.
+ * <p>
+ * {@code POST /api/games/moves} names its games in the body and is served by the node
+ * that received it. That is only safe while the database serializes the moves, so
+ * clustering refuses to start together with write-behind or mailboxes, which hold a
+ * game's latest moves on a single node.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class GameRoutingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_BY = "X-TicTacToe-Forwarded-By";
+    static final String FORWARDED_AT = "X-TicTacToe-Forwarded-At";
+    static final String FORWARD_SIGNATURE = "X-TicTacToe-Forward-Signature";
+
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+    private static final Duration MAX_FORWARD_AGE = Duration.ofMinutes(1);
+
+    private static final Pattern GAME_PATH = Pattern.compile("^/api/games/([0-9a-fA-F-]{36})(/.*)?$");
+    private static final Pattern LOBBY_PATH = Pattern.compile("^/api/matchmaking(/.*)?$");
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "keep-alive", "proxy-connection",
+            "te", "trailer", "transfer-encoding", "upgrade",
+            FORWARDED_BY.toLowerCase(), FORWARDED_AT.toLowerCase(), FORWARD_SIGNATURE.toLowerCase());
+
+    private final ClusterProperties properties;
+    private final GameOwnership gameOwnership;
+    private final HttpClient httpClient;
+    private final SecretKeySpec forwardKey;
+
+    public GameRoutingFilter(ClusterProperties properties, WriteBehindProperties writeBehindProperties,
+                             GameMailboxProperties mailboxProperties, GameOwnership gameOwnership) {
+        if (properties.enabled() && (properties.forwardSecret() == null || properties.forwardSecret().isBlank())) {
+            throw new IllegalStateException("tictactoe.cluster.forward-secret must be set when clustering is enabled");
+        }
+        if (properties.enabled() && (writeBehindProperties.enabled() || mailboxProperties.enabled())) {
+            throw new IllegalStateException("Clustering cannot be combined with write-behind or mailboxes, "
+                    + "as batches of moves for several games are not routed to their owners");
+        }
+        this.properties = properties;
+        this.gameOwnership = gameOwnership;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.forwardConnectTimeout())
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.forwardKey = properties.enabled()
+                ? new SecretKeySpec(properties.forwardSecret().getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM)
+                : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !gameOwnership.isEnabled() || isSignedForward(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UUID routingKey = routingKey(request.getRequestURI());
+        if (routingKey == null || gameOwnership.isLocal(routingKey)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String owner = gameOwnership.ownerOf(routingKey);
+        URI target = targetUri(gameOwnership.addressOf(owner), request);
+        if (properties.routing() == ClusterProperties.Routing.REDIRECT) {
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target.toString());
+            return;
+        }
+        forward(request, response, target, owner);
+    }
+
+    /**
+     * Streams the owner's response back as it arrives, so event streams and long-polls
+     * work through a forwarding node.
+     */
+    private void forward(HttpServletRequest request, HttpServletResponse response, URI target, String owner)
+            throws IOException {
+        String forwardedAt = Long.toString(System.currentTimeMillis());
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(target)
+                .method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(request.getInputStream().readAllBytes()))
+                .header(FORWARDED_BY, properties.nodeId())
+                .header(FORWARDED_AT, forwardedAt)
+                .header(FORWARD_SIGNATURE, sign(properties.nodeId(), forwardedAt, request));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    forwarded.header(name, value);
+                }
+            }
+        }
+
+        HttpResponse<InputStream> answer;
+        try {
+            answer = httpClient.send(forwarded.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            response.sendError(HttpStatus.BAD_GATEWAY.value(), "Game owner " + owner + " is unreachable");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        response.setStatus(answer.statusCode());
+        answer.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+
+        try (InputStream body = answer.body()) {
+            OutputStream output = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                output.write(buffer, 0, read);
+                if (body.available() == 0) {
+                    output.flush();
+                }
+            }
+            output.flush();
+        }
+    }
+
+    private boolean isSignedForward(HttpServletRequest request) {
+        String nodeId = request.getHeader(FORWARDED_BY);
+        String forwardedAt = request.getHeader(FORWARDED_AT);
+        String signature = request.getHeader(FORWARD_SIGNATURE);
+        if (nodeId == null || forwardedAt == null || signature == null) {
+            return false;
+        }
+
+        long age;
+        try {
+            age = System.currentTimeMillis() - Long.parseLong(forwardedAt);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return Math.abs(age) <= MAX_FORWARD_AGE.toMillis()
+                && MessageDigest.isEqual(
+                        sign(nodeId, forwardedAt, request).getBytes(StandardCharsets.US_ASCII),
+                        signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String nodeId, String forwardedAt, HttpServletRequest request) {
+        String query = request.getQueryString();
+        String signed = nodeId + '\n' + forwardedAt + '\n' + request.getMethod() + '\n'
+                + request.getRequestURI() + (query != null ? "?" + query : "");
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(forwardKey);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign forwarded request", e);
+        }
+    }
+
+    /**
+     * The game a request is about, or the lobby for matchmaking requests.
+     */
+    private static UUID routingKey(String path) {
+        Matcher matcher = GAME_PATH.matcher(path);
+        if (matcher.matches()) {
+            return parseGameId(matcher.group(1));
+        }
+        return LOBBY_PATH.matcher(path).matches() ? Matchmaker.LOBBY_ID : null;
+    }
+
+    private static URI targetUri(URI owner, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return owner.resolve(request.getRequestURI() + (query != null ? "?" + query : ""));
+    }
+
+    private static UUID parseGameId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
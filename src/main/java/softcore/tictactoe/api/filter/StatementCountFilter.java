@@ -0,0 +1,60 @@
+package softcore.tictactoe.api.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import softcore.tictactoe.persistance.metrics.StatementCounter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the statements each request ran on its own thread. Async requests (moves,
+ * long-polls, event streams) are not recorded: their work may finish on other threads,
+ * whose statements the thread-bound counter cannot attribute to the request.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private record Route(String method, String uri) {
+    }
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Route, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                summary(new Route(request.getMethod(), uri != null ? uri.toString() : "UNKNOWN"))
+                        .record(statementCounter.count());
+            }
+        }
+    }
+
+    private DistributionSummary summary(Route route) {
+        DistributionSummary summary = summaries.get(route);
+        return summary != null ? summary : summaries.computeIfAbsent(route, key -> DistributionSummary
+                .builder("tictactoe.http.statements")
+                .description("Hibernate statements executed per request")
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,31 @@
+package softcore.tictactoe.api.model;
+
+import softcore.tictactoe.domain.model.dto.MoveBatchDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public record BatchMoveResponse(
+        UUID gameId,
+        List<MoveResult> results,
+        GameDetailsResponse game
+) {
+    public static BatchMoveResponse from(MoveBatchDto batch, List<Integer> indexes) {
+        List<MoveResult> results = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            String rejection = batch.rejections().get(i);
+            results.add(rejection == null
+                    ? MoveResult.accepted(indexes.get(i))
+                    : MoveResult.rejected(indexes.get(i), rejection));
+        }
+        return new BatchMoveResponse(batch.game().id(), results, GameDetailsResponse.from(batch.game()));
+    }
+
+    public static BatchMoveResponse rejected(UUID gameId, List<Integer> indexes, String error) {
+        List<MoveResult> results = indexes.stream()
+                .map(index -> MoveResult.rejected(index, error))
+                .toList();
+        return new BatchMoveResponse(gameId, results, null);
+    }
+}
@@ -0,0 +1,55 @@
+package softcore.tictactoe.api.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.io.IOException;
+
+/**
+ * Game state with the board as a size * size char string, cell (x, y) at index
+ * x * size + y, 'X', 'O' or '.' for an empty cell. Served for {@link #MEDIA_TYPE}; the default
+ * representation stays {@link GameDetailsResponse}.
+ */
+@JsonSerialize(using = CompactGameResponse.Serializer.class)
+public record CompactGameResponse(GameDto game) {
+
+    public static final String MEDIA_TYPE = "application/vnd.tictactoe.compact+json";
+
+    static class Serializer extends StdSerializer<CompactGameResponse> {
+
+        Serializer() {
+            super(CompactGameResponse.class);
+        }
+
+        @Override
+        public void serialize(CompactGameResponse value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            GameDto game = value.game();
+            GameBoard board = game.board();
+
+            char[] cells = new char[board.cells()];
+            int i = 0;
+            for (int x = 0; x < board.size(); x++) {
+                for (int y = 0; y < board.size(); y++) {
+                    PlayerSymbol player = board.playerAt(x, y);
+                    cells[i++] = player == null ? '.' : player == PlayerSymbol.X ? 'X' : 'O';
+                }
+            }
+
+            generator.writeStartObject(value);
+            generator.writeStringField("id", game.id().toString());
+            generator.writeStringField("status", game.status().name());
+            generator.writeStringField("playerTurn", game.playerTurn().name());
+            generator.writeNumberField("size", board.size());
+            generator.writeNumberField("winLength", board.winLength());
+            generator.writeFieldName("board");
+            generator.writeString(cells, 0, cells.length);
+            generator.writeEndObject();
+        }
+    }
+}
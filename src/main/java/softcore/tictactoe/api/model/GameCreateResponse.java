@@ -6,8 +6,18 @@ import softcore.tictactoe.domain.model.dto.GameDto;
 
 import java.util.UUID;
 
-public record GameCreateResponse(UUID id, GameStatus status, PlayerSymbol playerTurn) {
+public record GameCreateResponse(
+        UUID id,
+        GameStatus status,
+        PlayerSymbol playerTurn,
+        PlayerSymbol aiPlayer,
+        int size,
+        int winLength,
+        String xPlayerId,
+        String oPlayerId
+) {
     public static GameCreateResponse from(GameDto game) {
-        return new GameCreateResponse(game.id(), game.status(), game.playerTurn());
+        return new GameCreateResponse(game.id(), game.status(), game.playerTurn(), game.aiPlayer(),
+                game.board().size(), game.board().winLength(), game.players().x(), game.players().o());
     }
 }
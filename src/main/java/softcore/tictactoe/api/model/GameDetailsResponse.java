@@ -2,6 +2,7 @@ package softcore.tictactoe.api.model;
 
 import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
 import softcore.tictactoe.domain.model.dto.GameDto;
 
 import java.util.UUID;
@@ -9,22 +10,30 @@ public record GameDetailsResponse(
         UUID id,
         GameStatus status,
         PlayerSymbol playerTurn,
+        String xPlayerId,
+        String oPlayerId,
         String[][] board
 ) {
     public static GameDetailsResponse from(GameDto dto) {
-        String[][] board = new String[3][3];
+        GameBoard gameBoard = dto.board();
+        String[][] board = new String[gameBoard.size()][gameBoard.size()];
 
-        dto.moves().forEach(move -> {
-            int x = move.getXAxis();
-            int y = move.getYAxis();
-            board[x][y] = move.getPlayer().name();
-        });
+        for (int x = 0; x < gameBoard.size(); x++) {
+            for (int y = 0; y < gameBoard.size(); y++) {
+                PlayerSymbol player = gameBoard.playerAt(x, y);
+                if (player != null) {
+                    board[x][y] = player.name();
+                }
+            }
+        }
 
         return new GameDetailsResponse(
                 dto.id(),
                 dto.status(),
                 dto.playerTurn(),
+                dto.players().x(),
+                dto.players().o(),
                 board
         );
     }
-}
\ No newline at end of file
+}
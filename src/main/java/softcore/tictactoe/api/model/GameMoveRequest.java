@@ -0,0 +1,8 @@
+package softcore.tictactoe.api.model;
+
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import java.util.UUID;
+
+public record GameMoveRequest(UUID gameId, int x, int y, PlayerSymbol player) {
+}
@@ -0,0 +1,4 @@
+package softcore.tictactoe.api.model;
+
+public record MatchTicketRequest(String playerId, Integer rating) {
+}
@@ -0,0 +1,26 @@
+package softcore.tictactoe.api.model;
+
+import softcore.tictactoe.common.enums.MatchStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.matchmaking.Match;
+import softcore.tictactoe.domain.matchmaking.MatchTicket;
+
+import java.util.UUID;
+
+public record MatchTicketResponse(
+        UUID ticketId,
+        String playerId,
+        MatchStatus status,
+        UUID gameId,
+        PlayerSymbol player,
+        String opponentId
+) {
+    public static MatchTicketResponse from(MatchTicket ticket) {
+        MatchStatus status = ticket.status();
+        Match match = ticket.match();
+        return match == null
+                ? new MatchTicketResponse(ticket.id(), ticket.playerId(), status, null, null, null)
+                : new MatchTicketResponse(ticket.id(), ticket.playerId(), status,
+                        match.gameId(), match.player(), match.opponentId());
+    }
+}
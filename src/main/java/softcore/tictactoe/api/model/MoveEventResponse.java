@@ -0,0 +1,25 @@
+package softcore.tictactoe.api.model;
+
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.event.MoveMadeEvent;
+
+public record MoveEventResponse(
+        int seq,
+        int x,
+        int y,
+        PlayerSymbol player,
+        GameStatus status,
+        PlayerSymbol playerTurn
+) {
+    public static MoveEventResponse from(MoveMadeEvent event) {
+        return new MoveEventResponse(
+                event.seq(),
+                event.x(),
+                event.y(),
+                event.player(),
+                event.status(),
+                event.playerTurn()
+        );
+    }
+}
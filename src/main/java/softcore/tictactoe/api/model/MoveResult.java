@@ -0,0 +1,12 @@
+package softcore.tictactoe.api.model;
+
+public record MoveResult(int index, boolean accepted, String error) {
+
+    public static MoveResult accepted(int index) {
+        return new MoveResult(index, true, null);
+    }
+
+    public static MoveResult rejected(int index, String error) {
+        return new MoveResult(index, false, error);
+    }
+}
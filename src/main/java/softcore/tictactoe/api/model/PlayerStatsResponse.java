@@ -0,0 +1,17 @@
+package softcore.tictactoe.api.model;
+
+import softcore.tictactoe.domain.model.dto.PlayerStatsDto;
+
+public record PlayerStatsResponse(
+        String playerId,
+        int wins,
+        int losses,
+        int draws,
+        int currentStreak,
+        int bestStreak
+) {
+    public static PlayerStatsResponse from(PlayerStatsDto stats) {
+        return new PlayerStatsResponse(stats.playerId(), stats.wins(), stats.losses(), stats.draws(),
+                stats.currentStreak(), stats.bestStreak());
+    }
+}
@@ -0,0 +1,53 @@
+package softcore.tictactoe.api.stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import softcore.tictactoe.domain.event.GameAbandonedEvent;
+import softcore.tictactoe.domain.event.MoveMadeEvent;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Callbacks of long-poll requests waiting for a game to change. Each callback runs once,
+ * on the thread that committed the change, and must register again to keep waiting.
+ */
+@Component
+public class GameChangeWaiters {
+
+    private final ConcurrentHashMap<UUID, Set<Runnable>> waiters = new ConcurrentHashMap<>();
+
+    public void await(UUID gameId, Runnable onChange) {
+        waiters.compute(gameId, (id, callbacks) -> {
+            Set<Runnable> gameCallbacks = callbacks != null ? callbacks : ConcurrentHashMap.newKeySet();
+            gameCallbacks.add(onChange);
+            return gameCallbacks;
+        });
+    }
+
+    public void remove(UUID gameId, Runnable onChange) {
+        waiters.computeIfPresent(gameId, (id, callbacks) -> {
+            callbacks.remove(onChange);
+            return callbacks.isEmpty() ? null : callbacks;
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMoveMade(MoveMadeEvent event) {
+        wake(event.gameId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameAbandoned(GameAbandonedEvent event) {
+        wake(event.gameId());
+    }
+
+    private void wake(UUID gameId) {
+        Set<Runnable> callbacks = waiters.remove(gameId);
+        if (callbacks != null) {
+            callbacks.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package softcore.tictactoe.api.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.api.model.MoveEventResponse;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.domain.event.GameAbandonedEvent;
+import softcore.tictactoe.domain.event.MoveMadeEvent;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Event streams of games. Each subscription sends on a virtual thread, one event at a
+ * time and in order, so a slow client never holds up the thread that committed a move.
+ * A subscriber is registered before the current state is read, so no move committed in
+ * between is lost; such a move may arrive again after the state, under its seq as id.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameEventBroadcaster {
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final Deque<Runnable> sends = new ConcurrentLinkedDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** Set once the current state is queued first; moves queued before wait for it. */
+        private volatile boolean started;
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private final GameEventProperties properties;
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Streams {@code currentState} and then every move of the game; a game that is
+     * already over is completed right after its state.
+     */
+    public SseEmitter subscribe(UUID gameId, Supplier<GameDetailsResponse> currentState) {
+        Subscription subscription = new Subscription(newEmitter(properties.subscriptionTimeout().toMillis()));
+        subscribers.compute(gameId, (id, subscriptions) -> {
+            Set<Subscription> gameSubscriptions = subscriptions != null ? subscriptions : new CopyOnWriteArraySet<>();
+            gameSubscriptions.add(subscription);
+            return gameSubscriptions;
+        });
+
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> unsubscribe(gameId, subscription));
+        emitter.onTimeout(() -> unsubscribe(gameId, subscription));
+        emitter.onError(e -> unsubscribe(gameId, subscription));
+
+        GameDetailsResponse state;
+        try {
+            state = currentState.get();
+        } catch (RuntimeException e) {
+            unsubscribe(gameId, subscription);
+            throw e;
+        }
+
+        Runnable sendState = () -> send(gameId, subscription, SseEmitter.event().name("game").data(state));
+        if (state.status() != GameStatus.IN_PROGRESS) {
+            unsubscribe(gameId, subscription);
+            subscription.sends.clear();
+            subscription.sends.offer(sendState);
+            subscription.sends.offer(emitter::complete);
+        } else {
+            subscription.sends.offerFirst(sendState);
+        }
+        subscription.started = true;
+        drainLater(subscription);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMoveMade(MoveMadeEvent event) {
+        boolean over = event.status() != GameStatus.IN_PROGRESS;
+        Set<Subscription> subscriptions = over ? subscribers.remove(event.gameId()) : subscribers.get(event.gameId());
+        if (subscriptions == null) {
+            return;
+        }
+
+        MoveEventResponse delta = MoveEventResponse.from(event);
+        for (Subscription subscription : subscriptions) {
+            enqueue(subscription, () -> send(event.gameId(), subscription, SseEmitter.event()
+                    .id(Integer.toString(event.seq()))
+                    .name("move")
+                    .data(delta)));
+            if (over) {
+                enqueue(subscription, subscription.emitter::complete);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameAbandoned(GameAbandonedEvent event) {
+        Set<Subscription> subscriptions = subscribers.remove(event.gameId());
+        if (subscriptions == null) {
+            return;
+        }
+
+        for (Subscription subscription : subscriptions) {
+            enqueue(subscription, () -> send(event.gameId(), subscription,
+                    SseEmitter.event().name("abandoned").data(GameStatus.ABANDONED)));
+            enqueue(subscription, subscription.emitter::complete);
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void enqueue(Subscription subscription, Runnable send) {
+        subscription.sends.offer(send);
+        drainLater(subscription);
+    }
+
+    private void drainLater(Subscription subscription) {
+        if (subscription.started && subscription.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        while (true) {
+            for (Runnable send; (send = subscription.sends.poll()) != null; ) {
+                send.run();
+            }
+            subscription.draining.set(false);
+            if (subscription.sends.isEmpty() || !subscription.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void send(UUID gameId, Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(gameId, subscription);
+        }
+    }
+
+    private void unsubscribe(UUID gameId, Subscription subscription) {
+        subscribers.computeIfPresent(gameId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+}
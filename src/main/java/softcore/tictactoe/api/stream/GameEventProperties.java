@@ -0,0 +1,12 @@
+package softcore.tictactoe.api.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.events")
+public record GameEventProperties(
+        Duration subscriptionTimeout,
+        Duration maxPollWait
+) {
+}
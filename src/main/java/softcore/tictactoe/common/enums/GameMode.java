@@ -0,0 +1,21 @@
+package softcore.tictactoe.common.enums;
+
+public enum GameMode {
+    PVP("pvp"),
+    VS_AI("vs-ai");
+
+    private final String value;
+
+    GameMode(String value) {
+        this.value = value;
+    }
+
+    public static GameMode fromValue(String value) {
+        for (GameMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown game mode: " + value);
+    }
+}
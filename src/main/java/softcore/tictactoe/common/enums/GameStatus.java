@@ -4,5 +4,6 @@ public enum GameStatus {
     IN_PROGRESS,
     DRAW,
     X_WINS,
-    O_WINS
+    O_WINS,
+    ABANDONED
 }
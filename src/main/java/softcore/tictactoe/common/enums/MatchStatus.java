@@ -0,0 +1,8 @@
+package softcore.tictactoe.common.enums;
+
+public enum MatchStatus {
+    WAITING,
+    PAIRING,
+    MATCHED,
+    CANCELLED
+}
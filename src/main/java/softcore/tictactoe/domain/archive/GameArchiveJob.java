@@ -0,0 +1,50 @@
+package softcore.tictactoe.domain.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import softcore.tictactoe.persistance.repository.GameArchiveRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves games finished longer than the retention ago into the archive tables, one
+ * batch per transaction, so the hot tables only hold active and recent games.
+ */
+@Component
+public class GameArchiveJob {
+
+    private final GameArchiveRepository gameArchiveRepository;
+    private final TransactionOperations transactionOperations;
+    private final GameArchiveProperties properties;
+    private final Counter archived;
+
+    public GameArchiveJob(GameArchiveRepository gameArchiveRepository,
+                          TransactionOperations transactionOperations,
+                          GameArchiveProperties properties,
+                          MeterRegistry registry) {
+        this.gameArchiveRepository = gameArchiveRepository;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+        this.archived = Counter.builder("tictactoe.archive.games")
+                .description("Finished games moved to the archive tables")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${tictactoe.archive.interval}", fixedDelayString = "${tictactoe.archive.interval}")
+    public void archiveFinishedGames() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        int count;
+        do {
+            count = transactionOperations.execute(status ->
+                    gameArchiveRepository.archiveFinishedBefore(cutoff, properties.batchSize()));
+            archived.increment(count);
+        } while (count == properties.batchSize());
+    }
+}
@@ -0,0 +1,13 @@
+package softcore.tictactoe.domain.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.archive")
+public record GameArchiveProperties(
+        boolean enabled,
+        Duration retention,
+        int batchSize
+) {
+}
@@ -0,0 +1,27 @@
+package softcore.tictactoe.domain.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GameCacheMetrics implements MeterBinder {
+
+    private final GameStateCache gameStateCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tictactoe.cache.hits", gameStateCache, cache -> cache.stats().hits())
+                .register(registry);
+        FunctionCounter.builder("tictactoe.cache.misses", gameStateCache, cache -> cache.stats().misses())
+                .register(registry);
+        FunctionCounter.builder("tictactoe.cache.evictions", gameStateCache, cache -> cache.stats().evictions())
+                .register(registry);
+        Gauge.builder("tictactoe.cache.size", gameStateCache, cache -> cache.stats().size())
+                .register(registry);
+    }
+}
@@ -0,0 +1,13 @@
+package softcore.tictactoe.domain.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.cache")
+public record GameCacheProperties(
+        long maximumSize,
+        Duration idleTimeout,
+        Duration finishedTimeout
+) {
+}
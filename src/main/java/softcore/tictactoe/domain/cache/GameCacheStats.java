@@ -0,0 +1,4 @@
+package softcore.tictactoe.domain.cache;
+
+public record GameCacheStats(long hits, long misses, long evictions, long size) {
+}
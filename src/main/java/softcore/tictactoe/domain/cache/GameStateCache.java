@@ -0,0 +1,123 @@
+package softcore.tictactoe.domain.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Game state of this node only; nodes do not invalidate each other's entries. A move
+ * made here on a state another node has moved past collides on the (game_id, seq) index,
+ * and a move such a state rejects is checked again against the database; either way the
+ * entry is reloaded. Reads are served as cached, though, and can lag moves made through
+ * another node until the entry expires or this node moves the game. Only cluster routing, which sends every request
+ * of a game to one node, keeps reads current when several nodes serve the same games.
+ */
+@Component
+public class GameStateCache {
+
+    private final Cache<UUID, GameDto> cache;
+
+    public GameStateCache(GameCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new GameExpiry(
+                        properties.idleTimeout().toNanos(),
+                        properties.finishedTimeout().toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    public GameDto get(UUID gameId) {
+        return cache.getIfPresent(gameId);
+    }
+
+    /**
+     * Caches state read from the database. Never overwrites an entry, so a slow
+     * read cannot replace the state written by a concurrent move.
+     */
+    public void putLoaded(GameDto game) {
+        cache.asMap().putIfAbsent(game.id(), game);
+    }
+
+    /**
+     * Write-through of state produced inside the current transaction. Until it commits
+     * the game is not cached at all, so other requests read the committed state from the
+     * database instead of one that may still roll back. The new state is cached right
+     * after commit, ahead of the after-commit event listeners, unless a later move of
+     * the game was cached meanwhile. Outside a transaction (write-behind) it is cached
+     * at once.
+     */
+    public void write(GameDto game) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(game.id(), game);
+            return;
+        }
+
+        cache.invalidate(game.id());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                cache.asMap().merge(game.id(), game, (cached, committed) ->
+                        cached.board().moveCount() > committed.board().moveCount() ? cached : committed);
+            }
+        });
+    }
+
+    public void evict(UUID gameId) {
+        cache.invalidate(gameId);
+    }
+
+    /**
+     * Evicts every game matching {@code filter} and returns how many were cached.
+     */
+    public int evictIf(Predicate<UUID> filter) {
+        int evicted = 0;
+        for (UUID gameId : cache.asMap().keySet()) {
+            if (filter.test(gameId) && cache.asMap().remove(gameId) != null) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public GameCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new GameCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    private record GameExpiry(long idleNanos, long finishedNanos) implements Expiry<UUID, GameDto> {
+
+        @Override
+        public long expireAfterCreate(UUID key, GameDto game, long currentTime) {
+            return lifetime(game);
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, GameDto game, long currentTime, long currentDuration) {
+            return lifetime(game);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, GameDto game, long currentTime, long currentDuration) {
+            return game.status() == GameStatus.IN_PROGRESS ? idleNanos : currentDuration;
+        }
+
+        private long lifetime(GameDto game) {
+            return game.status() == GameStatus.IN_PROGRESS ? idleNanos : finishedNanos;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package softcore.tictactoe.domain.cluster;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+@Configuration
+public class ClusterConfiguration {
+
+    @Bean
+    public ClusterMembership clusterMembership(ClusterProperties properties) {
+        if (properties.membershipFile() != null && !properties.membershipFile().isBlank()) {
+            return new FileClusterMembership(Path.of(properties.membershipFile()), properties.membershipRefresh());
+        }
+        return new StaticClusterMembership(properties.nodes() != null ? properties.nodes() : Map.of());
+    }
+}
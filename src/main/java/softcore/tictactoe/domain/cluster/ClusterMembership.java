@@ -0,0 +1,12 @@
+package softcore.tictactoe.domain.cluster;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Current cluster members by node id, including this node.
+ */
+public interface ClusterMembership {
+
+    Map<String, URI> nodes();
+}
@@ -0,0 +1,34 @@
+package softcore.tictactoe.domain.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Nodes sharing the games by consistent hashing of the game id. Members come from
+ * {@code nodes} (node id to base URL), or from {@code membershipFile} in the same
+ * {@code id=url} format when it is set, re-read every membership-refresh. Forwarded
+ * requests are signed with {@code forwardSecret}, which all members must share.
+ */
+@ConfigurationProperties(prefix = "tictactoe.cluster")
+public record ClusterProperties(
+        boolean enabled,
+        String nodeId,
+        Map<String, URI> nodes,
+        String membershipFile,
+        Duration membershipRefresh,
+        int virtualNodes,
+        Routing routing,
+        Duration forwardConnectTimeout,
+        String forwardSecret
+) {
+
+    public enum Routing {
+        /** Proxy the request to the owning node and stream its response back. */
+        FORWARD,
+        /** Answer 307 with the owning node's URL. */
+        REDIRECT
+    }
+}
@@ -0,0 +1,81 @@
+package softcore.tictactoe.domain.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Immutable ring of virtualNodes points per node. A game belongs to the node owning the
+ * first point at or after the game id's hash, so adding or removing a node only moves
+ * the games between it and its neighbours, about 1/n of them.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("Cluster has no nodes");
+        }
+
+        int size = nodeIds.size() * virtualNodes;
+        Point[] ring = new Point[size];
+        int i = 0;
+        for (String nodeId : nodeIds) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                ring[i++] = new Point(hash(nodeId + "#" + replica), nodeId);
+            }
+        }
+        // Ties are broken by node id so every node builds the same ring
+        Arrays.sort(ring, Comparator.comparingLong(Point::hash).thenComparing(Point::nodeId));
+
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (i = 0; i < size; i++) {
+            points[i] = ring[i].hash();
+            owners[i] = ring[i].nodeId();
+        }
+    }
+
+    public String ownerOf(UUID gameId) {
+        long hash = mix(gameId.getMostSignificantBits() ^ mix(gameId.getLeastSignificantBits()));
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    private record Point(long hash, String nodeId) {
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xff);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * MurmurHash3 finalizer, so ids that differ in a few bits land far apart.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+package softcore.tictactoe.domain.cluster;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Members listed one {@code id=url} per line in a file that operators edit in place.
+ * The file's modification time is checked at most once per refresh interval and the
+ * file is read again only when it changed; a file that cannot be read keeps the last
+ * known members.
+ */
+public class FileClusterMembership implements ClusterMembership {
+
+    private final Path file;
+    private final long refreshNanos;
+
+    private volatile Map<String, URI> nodes;
+    private volatile FileTime lastModified;
+    private volatile long lastCheck;
+
+    public FileClusterMembership(Path file, Duration refresh) {
+        this.file = file;
+        this.refreshNanos = refresh.toNanos();
+        this.nodes = read();
+        this.lastCheck = System.nanoTime();
+    }
+
+    @Override
+    public Map<String, URI> nodes() {
+        long now = System.nanoTime();
+        if (now - lastCheck >= refreshNanos) {
+            lastCheck = now;
+            try {
+                if (!Files.getLastModifiedTime(file).equals(lastModified)) {
+                    nodes = read();
+                }
+            } catch (IOException | UncheckedIOException e) {
+                // Keep serving the last members read
+            }
+        }
+        return nodes;
+    }
+
+    private Map<String, URI> read() {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            FileTime modified = Files.getLastModifiedTime(file);
+            Properties properties = new Properties();
+            properties.load(reader);
+
+            Map<String, URI> members = new HashMap<>();
+            properties.forEach((id, url) -> members.put(id.toString().trim(), URI.create(url.toString().trim())));
+            lastModified = modified;
+            return Map.copyOf(members);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read cluster membership file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package softcore.tictactoe.domain.cluster;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.persistance.writebehind.WriteBehindMoveWriter;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Lets go of the games this node no longer owns once the membership changes: their
+ * queued write-behind moves are written first, so the new owner reads them from the
+ * database, and then their cached state is dropped, so a later request routed here
+ * again does not serve state the new owner has moved past.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameHandover {
+
+    private final GameOwnership gameOwnership;
+    private final GameStateCache gameStateCache;
+    private final WriteBehindMoveWriter moveWriter;
+
+    /** Scheduler thread only. */
+    private Map<String, URI> members;
+
+    @Scheduled(fixedDelayString = "${tictactoe.cluster.membership-refresh}")
+    public void handOverMovedGames() {
+        if (!gameOwnership.isEnabled()) {
+            return;
+        }
+        Map<String, URI> current = gameOwnership.members();
+        if (current == members) {
+            return;
+        }
+        members = current;
+
+        if (moveWriter.isEnabled()) {
+            moveWriter.flush();
+        }
+        int evicted = gameStateCache.evictIf(gameId -> !gameOwnership.isLocal(gameId));
+        if (evicted > 0) {
+            log.info("Cluster members changed to {}, dropped {} games now owned elsewhere", current.keySet(), evicted);
+        }
+    }
+}
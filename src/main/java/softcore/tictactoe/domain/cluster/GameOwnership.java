@@ -0,0 +1,62 @@
+package softcore.tictactoe.domain.cluster;
+
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Which node owns a game. The ring is rebuilt whenever the membership changes; with
+ * clustering disabled every game is local.
+ */
+@Component
+public class GameOwnership {
+
+    private record Ring(Map<String, URI> nodes, ConsistentHashRing ring) {
+    }
+
+    private final ClusterProperties properties;
+    private final ClusterMembership membership;
+
+    private volatile Ring current;
+
+    public GameOwnership(ClusterProperties properties, ClusterMembership membership) {
+        this.properties = properties;
+        this.membership = membership;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public boolean isLocal(UUID gameId) {
+        return !properties.enabled() || properties.nodeId().equals(ownerOf(gameId));
+    }
+
+    public String ownerOf(UUID gameId) {
+        return ring().ring().ownerOf(gameId);
+    }
+
+    public URI addressOf(String nodeId) {
+        return ring().nodes().get(nodeId);
+    }
+
+    /**
+     * The members the ring is built from. The same map is returned until they change.
+     */
+    public Map<String, URI> members() {
+        return ring().nodes();
+    }
+
+    private Ring ring() {
+        Map<String, URI> nodes = membership.nodes();
+        Ring ring = current;
+        // Memberships hand out the same map until the members change
+        if (ring == null || ring.nodes() != nodes) {
+            ring = new Ring(nodes, new ConsistentHashRing(nodes.keySet(), properties.virtualNodes()));
+            current = ring;
+        }
+        return ring;
+    }
+}
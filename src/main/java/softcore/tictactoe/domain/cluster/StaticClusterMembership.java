@@ -0,0 +1,18 @@
+package softcore.tictactoe.domain.cluster;
+
+import java.net.URI;
+import java.util.Map;
+
+public class StaticClusterMembership implements ClusterMembership {
+
+    private final Map<String, URI> nodes;
+
+    public StaticClusterMembership(Map<String, URI> nodes) {
+        this.nodes = Map.copyOf(nodes);
+    }
+
+    @Override
+    public Map<String, URI> nodes() {
+        return nodes;
+    }
+}
@@ -0,0 +1,156 @@
+package softcore.tictactoe.domain.engine;
+
+import java.util.Arrays;
+
+/**
+ * Best reply for every position of the classic 3x3 board reachable from the empty one
+ * (5,478 of them), found once with alpha-beta search and stored in a byte per base-3
+ * board encoding. X always moves first, so the side to move follows from the move count.
+ */
+public final class AiMoves {
+
+    public static final int NO_MOVE = -1;
+
+    private static final int UNVISITED = -2;
+    private static final int CELLS = WinningLines.CELLS;
+    private static final int FULL_MASK = (1 << CELLS) - 1;
+    private static final int MAX_SCORE = CELLS + 1;
+
+    private static final int[] TERNARY = new int[1 << CELLS];
+    private static final byte[] BEST_CELL = new byte[pow3(CELLS)];
+
+    static {
+        for (int mask = 1; mask < TERNARY.length; mask++) {
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            TERNARY[mask] = TERNARY[mask & (mask - 1)] + pow3(lowest);
+        }
+        Arrays.fill(BEST_CELL, (byte) UNVISITED);
+        fill(0, 0);
+    }
+
+    private AiMoves() {}
+
+    /**
+     * Builds the table now instead of on first use; it is built once per class loader.
+     */
+    public static void load() {
+    }
+
+    /**
+     * Cell index (x * 3 + y) of the best move for the player to move, or {@link #NO_MOVE}
+     * when the game is already over.
+     */
+    public static int bestCell(GameBoard board) {
+        requireClassic(board);
+        return BEST_CELL[index(board.xMask(), board.oMask())];
+    }
+
+    /**
+     * Same answer as {@link #bestCell} computed by a fresh alpha-beta search.
+     */
+    public static int searchBestCell(GameBoard board) {
+        requireClassic(board);
+        return search(board.xMask(), board.oMask());
+    }
+
+    private static void requireClassic(GameBoard board) {
+        if (!board.isClassic()) {
+            throw new IllegalArgumentException("AI opponent is only available on the classic 3x3 board");
+        }
+    }
+
+    private static int search(int xMask, int oMask) {
+        if (isOver(xMask, oMask)) {
+            return NO_MOVE;
+        }
+
+        boolean xToMove = Integer.bitCount(xMask | oMask) % 2 == 0;
+        int own = xToMove ? xMask : oMask;
+        int opponent = xToMove ? oMask : xMask;
+
+        int bestCell = NO_MOVE;
+        int alpha = -MAX_SCORE - 1;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int bit = 1 << cell;
+            if (((own | opponent) & bit) != 0) {
+                continue;
+            }
+            int score = -negamax(opponent, own | bit, -MAX_SCORE - 1, -alpha);
+            if (score > alpha) {
+                alpha = score;
+                bestCell = cell;
+            }
+        }
+        return bestCell;
+    }
+
+    private static void fill(int xMask, int oMask) {
+        int index = index(xMask, oMask);
+        if (BEST_CELL[index] != UNVISITED) {
+            return;
+        }
+
+        int bestCell = search(xMask, oMask);
+        BEST_CELL[index] = (byte) bestCell;
+        if (bestCell == NO_MOVE) {
+            return;
+        }
+
+        boolean xToMove = Integer.bitCount(xMask | oMask) % 2 == 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int bit = 1 << cell;
+            if (((xMask | oMask) & bit) == 0) {
+                if (xToMove) {
+                    fill(xMask | bit, oMask);
+                } else {
+                    fill(xMask, oMask | bit);
+                }
+            }
+        }
+    }
+
+    /**
+     * Score for the player owning {@code own}, who is to move right after the opponent's
+     * move. Faster wins score higher.
+     */
+    private static int negamax(int own, int opponent, int alpha, int beta) {
+        int occupied = own | opponent;
+        if (WinningLines.isWinning(opponent)) {
+            return -(MAX_SCORE - Integer.bitCount(occupied));
+        }
+        if (occupied == FULL_MASK) {
+            return 0;
+        }
+
+        for (int cell = 0; cell < CELLS; cell++) {
+            int bit = 1 << cell;
+            if ((occupied & bit) != 0) {
+                continue;
+            }
+            int score = -negamax(opponent, own | bit, -beta, -alpha);
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    private static boolean isOver(int xMask, int oMask) {
+        return WinningLines.isWinning(xMask) || WinningLines.isWinning(oMask) || (xMask | oMask) == FULL_MASK;
+    }
+
+    private static int index(int xMask, int oMask) {
+        return TERNARY[xMask] + 2 * TERNARY[oMask];
+    }
+
+    private static int pow3(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 3;
+        }
+        return result;
+    }
+}
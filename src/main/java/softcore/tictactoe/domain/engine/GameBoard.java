@@ -0,0 +1,209 @@
+package softcore.tictactoe.domain.engine;
+
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable size x size board where winLength in a row wins. Each player's cells are a
+ * bitset with cell (x, y) at bit x * size + y; placing a stone copies the words, so a
+ * board can be shared between threads through the game cache.
+ */
+public final class GameBoard {
+
+    public static final int CLASSIC_SIZE = 3;
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 100;
+
+    private static final GameBoard EMPTY = new GameBoard(CLASSIC_SIZE, CLASSIC_SIZE, new long[1], new long[1], 0);
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int size;
+    private final int winLength;
+    private final long[] xCells;
+    private final long[] oCells;
+    private final int moveCount;
+
+    private GameBoard(int size, int winLength, long[] xCells, long[] oCells, int moveCount) {
+        this.size = size;
+        this.winLength = winLength;
+        this.xCells = xCells;
+        this.oCells = oCells;
+        this.moveCount = moveCount;
+    }
+
+    public static GameBoard empty() {
+        return EMPTY;
+    }
+
+    public static GameBoard empty(int size, int winLength) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between " + MIN_SIZE + " and " + MAX_SIZE);
+        }
+        if (winLength < MIN_SIZE || winLength > size) {
+            throw new IllegalArgumentException("Win length must be between " + MIN_SIZE + " and the board size");
+        }
+        if (size == CLASSIC_SIZE) {
+            return EMPTY;
+        }
+
+        int words = words(size);
+        return new GameBoard(size, winLength, new long[words], new long[words], 0);
+    }
+
+    /**
+     * Restores a board from the little-endian bytes of {@link #xCellBytes()} and
+     * {@link #oCellBytes()}, the same layout as {@link BitSet#toByteArray()}.
+     */
+    public static GameBoard of(int size, int winLength, byte[] xCells, byte[] oCells) {
+        long[] x = Arrays.copyOf(BitSet.valueOf(xCells).toLongArray(), words(size));
+        long[] o = Arrays.copyOf(BitSet.valueOf(oCells).toLongArray(), words(size));
+        return new GameBoard(size, winLength, x, o, bitCount(x) + bitCount(o));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int winLength() {
+        return winLength;
+    }
+
+    public int cells() {
+        return size * size;
+    }
+
+    public boolean isClassic() {
+        return size == CLASSIC_SIZE && winLength == CLASSIC_SIZE;
+    }
+
+    public boolean isWithinBounds(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    public boolean isOccupied(int x, int y) {
+        int cell = cell(x, y);
+        return isSet(xCells, cell) || isSet(oCells, cell);
+    }
+
+    public PlayerSymbol playerAt(int x, int y) {
+        int cell = cell(x, y);
+        if (isSet(xCells, cell)) {
+            return PlayerSymbol.X;
+        }
+        if (isSet(oCells, cell)) {
+            return PlayerSymbol.O;
+        }
+        return null;
+    }
+
+    public GameBoard place(int x, int y, PlayerSymbol player) {
+        int cell = cell(x, y);
+        long[] cells = (player == PlayerSymbol.X ? xCells : oCells).clone();
+        cells[cell >>> 6] |= 1L << cell;
+
+        return player == PlayerSymbol.X
+                ? new GameBoard(size, winLength, cells, oCells, moveCount + 1)
+                : new GameBoard(size, winLength, xCells, cells, moveCount + 1);
+    }
+
+    /**
+     * Whether the stone of {@code player} at (x, y) completes winLength in a row. Only the
+     * four lines through that cell are scanned, at most winLength - 1 cells each way.
+     */
+    public boolean isWinningMove(int x, int y, PlayerSymbol player) {
+        long[] cells = player == PlayerSymbol.X ? xCells : oCells;
+        for (int[] direction : DIRECTIONS) {
+            int inRow = 1 + run(cells, x, y, direction[0], direction[1]) + run(cells, x, y, -direction[0], -direction[1]);
+            if (inRow >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isFull() {
+        return moveCount == cells();
+    }
+
+    public int moveCount() {
+        return moveCount;
+    }
+
+    public GameStatus statusAfterMove(int x, int y, PlayerSymbol player) {
+        if (isWinningMove(x, y, player)) {
+            return player == PlayerSymbol.X ? GameStatus.X_WINS : GameStatus.O_WINS;
+        }
+        return isFull() ? GameStatus.DRAW : GameStatus.IN_PROGRESS;
+    }
+
+    public byte[] xCellBytes() {
+        return BitSet.valueOf(xCells).toByteArray();
+    }
+
+    public byte[] oCellBytes() {
+        return BitSet.valueOf(oCells).toByteArray();
+    }
+
+    int xMask() {
+        return (int) xCells[0];
+    }
+
+    int oMask() {
+        return (int) oCells[0];
+    }
+
+    private int run(long[] cells, int x, int y, int dx, int dy) {
+        int count = 0;
+        for (int step = 1; step < winLength; step++) {
+            int nx = x + dx * step;
+            int ny = y + dy * step;
+            if (!isWithinBounds(nx, ny) || !isSet(cells, cell(nx, ny))) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private int cell(int x, int y) {
+        return x * size + y;
+    }
+
+    private static boolean isSet(long[] cells, int cell) {
+        return (cells[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static int words(int size) {
+        return (size * size + 63) >>> 6;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameBoard other
+                && size == other.size
+                && winLength == other.winLength
+                && Arrays.equals(xCells, other.xCells)
+                && Arrays.equals(oCells, other.oCells);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * size + winLength) + Arrays.hashCode(xCells)) + Arrays.hashCode(oCells);
+    }
+
+    @Override
+    public String toString() {
+        return "GameBoard[size=" + size + ", winLength=" + winLength + ", moves=" + moveCount + "]";
+    }
+}
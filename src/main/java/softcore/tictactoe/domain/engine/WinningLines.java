@@ -0,0 +1,35 @@
+package softcore.tictactoe.domain.engine;
+
+final class WinningLines {
+
+    static final int[] MASKS = {
+            cells(0, 1, 2), cells(3, 4, 5), cells(6, 7, 8),
+            cells(0, 3, 6), cells(1, 4, 7), cells(2, 5, 8),
+            cells(0, 4, 8), cells(2, 4, 6)
+    };
+
+    static final int CELLS = GameBoard.CLASSIC_SIZE * GameBoard.CLASSIC_SIZE;
+
+    private static final boolean[] WINNING = new boolean[1 << CELLS];
+
+    static {
+        for (int mask = 0; mask < WINNING.length; mask++) {
+            for (int line : MASKS) {
+                if ((mask & line) == line) {
+                    WINNING[mask] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private WinningLines() {}
+
+    static boolean isWinning(int mask) {
+        return WINNING[mask];
+    }
+
+    private static int cells(int a, int b, int c) {
+        return (1 << a) | (1 << b) | (1 << c);
+    }
+}
@@ -0,0 +1,8 @@
+package softcore.tictactoe.domain.event;
+
+import java.util.UUID;
+
+public record GameAbandonedEvent(
+        UUID gameId
+) {
+}
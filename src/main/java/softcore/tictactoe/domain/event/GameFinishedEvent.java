@@ -0,0 +1,13 @@
+package softcore.tictactoe.domain.event;
+
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+
+import java.util.UUID;
+
+public record GameFinishedEvent(
+        UUID gameId,
+        GameStatus status,
+        GamePlayers players
+) {
+}
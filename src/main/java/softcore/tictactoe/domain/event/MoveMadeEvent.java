@@ -0,0 +1,17 @@
+package softcore.tictactoe.domain.event;
+
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import java.util.UUID;
+
+public record MoveMadeEvent(
+        UUID gameId,
+        int seq,
+        int x,
+        int y,
+        PlayerSymbol player,
+        GameStatus status,
+        PlayerSymbol playerTurn
+) {
+}
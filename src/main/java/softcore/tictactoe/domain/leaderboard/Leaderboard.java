@@ -0,0 +1,81 @@
+package softcore.tictactoe.domain.leaderboard;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.domain.model.dto.PlayerStatsDto;
+import softcore.tictactoe.persistance.repository.PlayerStatsRepository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The best size players by wins, ties broken by player id, kept sorted in memory. Wins
+ * never go down, so a player outside the board can only enter it by winning, and the
+ * stats row returned by that update is offered here. The board is reloaded from
+ * player_stats every refresh to pick up results recorded by other nodes. Offers are
+ * applied one at a time under a lock; reads see the sorted set without locking.
+ */
+@Component
+public class Leaderboard {
+
+    private static final Comparator<PlayerStatsDto> RANKING = Comparator
+            .comparingInt(PlayerStatsDto::wins).reversed()
+            .thenComparing(PlayerStatsDto::playerId);
+
+    private final LeaderboardProperties properties;
+    private final PlayerStatsRepository playerStatsRepository;
+
+    private final ConcurrentSkipListSet<PlayerStatsDto> ranking = new ConcurrentSkipListSet<>(RANKING);
+    /** Guarded by {@link #lock}, as are all changes to {@link #ranking}. */
+    private final Map<String, PlayerStatsDto> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public Leaderboard(LeaderboardProperties properties, PlayerStatsRepository playerStatsRepository) {
+        this.properties = properties;
+        this.playerStatsRepository = playerStatsRepository;
+    }
+
+    public int size() {
+        return properties.size();
+    }
+
+    public List<PlayerStatsDto> top(int limit) {
+        return ranking.stream().limit(limit).toList();
+    }
+
+    /**
+     * Takes committed stats of a player, ignoring them if an update with more games was
+     * already seen or the player does not make the board.
+     */
+    public void offer(PlayerStatsDto stats) {
+        lock.lock();
+        try {
+            PlayerStatsDto current = entries.get(stats.playerId());
+            if (current != null) {
+                if (current.games() >= stats.games()) {
+                    return;
+                }
+                ranking.remove(current);
+            } else if (entries.size() >= properties.size() && RANKING.compare(stats, ranking.last()) > 0) {
+                return;
+            }
+            ranking.add(stats);
+            entries.put(stats.playerId(), stats);
+
+            if (entries.size() > properties.size()) {
+                entries.remove(ranking.pollLast().playerId());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.leaderboard.refresh}")
+    public void refresh() {
+        playerStatsRepository.findTopByWins(properties.size()).forEach(this::offer);
+    }
+}
@@ -0,0 +1,12 @@
+package softcore.tictactoe.domain.leaderboard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.leaderboard")
+public record LeaderboardProperties(
+        int size,
+        Duration refresh
+) {
+}
@@ -0,0 +1,67 @@
+package softcore.tictactoe.domain.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.domain.metrics.GameMetrics;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-JVM lock per game, hashed onto a fixed array of stripes, so memory stays constant
+ * however many games are played. Two games share a lock only when they land on the same
+ * stripe. Only serializes the games of this node.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameLockManager {
+
+    static final int STRIPES = 1024;
+
+    private final ReentrantLock[] stripes = newStripes();
+    private final GameMetrics gameMetrics;
+
+    /**
+     * Runs {@code action} holding the game's lock, or throws IllegalStateException if the
+     * lock is not free within {@code timeout}.
+     */
+    public <T> T executeWithLock(UUID gameId, Duration timeout, Supplier<T> action) {
+        ReentrantLock lock = lockFor(gameId);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        gameMetrics.recordLockWait(start);
+        if (!acquired) {
+            throw new IllegalStateException("Game is busy: " + gameId);
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock lockFor(UUID gameId) {
+        long bits = gameId.getMostSignificantBits() ^ gameId.getLeastSignificantBits();
+        int hash = (int) (bits ^ (bits >>> 32));
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES - 1)];
+    }
+
+    private static ReentrantLock[] newStripes() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
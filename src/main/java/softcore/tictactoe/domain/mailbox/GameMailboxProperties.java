@@ -0,0 +1,9 @@
+package softcore.tictactoe.domain.mailbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "tictactoe.mailbox")
+public record GameMailboxProperties(
+        boolean enabled
+) {
+}
@@ -0,0 +1,138 @@
+package softcore.tictactoe.domain.mailbox;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.api.model.MakeMoveCommand;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One mailbox per game with moves waiting to be applied, drained by a single writer at
+ * a time on a virtual thread. Moves submitted while a game's batch runs queue up instead
+ * of blocking and are handed to the processor together as its next batch, in submission
+ * order. A mailbox only exists while it holds moves.
+ */
+@Component
+public class GameMailboxes implements SmartLifecycle {
+
+    @FunctionalInterface
+    public interface MoveProcessor {
+
+        /**
+         * Applies the moves of one game in order and completes their futures.
+         */
+        void process(UUID gameId, List<PendingMove> moves);
+    }
+
+    private static final class Mailbox {
+        private final Queue<PendingMove> moves = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+
+    private final GameMailboxProperties properties;
+    private final ConcurrentHashMap<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running;
+
+    public GameMailboxes(GameMailboxProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Queues the moves of one game, back to back, and returns one future per move.
+     */
+    public List<CompletableFuture<GameDto>> submit(UUID gameId, List<MakeMoveCommand> commands, MoveProcessor processor) {
+        List<PendingMove> pending = new ArrayList<>(commands.size());
+        for (MakeMoveCommand command : commands) {
+            pending.add(new PendingMove(command, new CompletableFuture<>()));
+        }
+        List<CompletableFuture<GameDto>> results = pending.stream().map(PendingMove::result).toList();
+        if (!running) {
+            results.forEach(result -> result.completeExceptionally(new IllegalStateException("Game mailboxes are not running")));
+            return results;
+        }
+
+        // Adding under compute keeps a mailbox from being dropped while it receives moves
+        Mailbox mailbox = mailboxes.compute(gameId, (id, existing) -> {
+            Mailbox target = existing != null ? existing : new Mailbox();
+            target.moves.addAll(pending);
+            return target;
+        });
+        if (mailbox.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(gameId, mailbox, processor));
+        }
+        return results;
+    }
+
+    private void drain(UUID gameId, Mailbox mailbox, MoveProcessor processor) {
+        while (true) {
+            List<PendingMove> batch = new ArrayList<>();
+            for (PendingMove move; (move = mailbox.moves.poll()) != null; ) {
+                batch.add(move);
+            }
+            if (!batch.isEmpty()) {
+                process(gameId, batch, processor);
+                continue;
+            }
+
+            mailbox.draining.set(false);
+            if (!mailbox.moves.isEmpty() && mailbox.draining.compareAndSet(false, true)) {
+                continue;
+            }
+            mailboxes.computeIfPresent(gameId, (id, current) ->
+                    current == mailbox && current.moves.isEmpty() && !current.draining.get() ? null : current);
+            return;
+        }
+    }
+
+    private void process(UUID gameId, List<PendingMove> batch, MoveProcessor processor) {
+        try {
+            processor.process(gameId, batch);
+        } catch (RuntimeException e) {
+            batch.forEach(move -> move.result().completeExceptionally(e));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = properties.enabled();
+    }
+
+    /**
+     * Lets every queued move finish before returning.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        executor.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server and before the write-behind writer, which still has to
+     * take the last batches.
+     */
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+}
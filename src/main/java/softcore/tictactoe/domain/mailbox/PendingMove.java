@@ -0,0 +1,12 @@
+package softcore.tictactoe.domain.mailbox;
+
+import softcore.tictactoe.api.model.MakeMoveCommand;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.util.concurrent.CompletableFuture;
+
+public record PendingMove(
+        MakeMoveCommand command,
+        CompletableFuture<GameDto> result
+) {
+}
@@ -0,0 +1,8 @@
+package softcore.tictactoe.domain.matchmaking;
+
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import java.util.UUID;
+
+public record Match(UUID gameId, PlayerSymbol player, String opponentId) {
+}
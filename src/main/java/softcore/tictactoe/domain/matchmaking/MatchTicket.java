@@ -0,0 +1,83 @@
+package softcore.tictactoe.domain.matchmaking;
+
+import softcore.tictactoe.common.enums.MatchStatus;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A player waiting in the lobby. Only the pairing thread moves a ticket out of
+ * WAITING into PAIRING and on to MATCHED; a player can cancel only while WAITING.
+ */
+public final class MatchTicket {
+
+    private final UUID id;
+    private final String playerId;
+    private final Integer rating;
+    private final long enqueuedNanos;
+    private final AtomicReference<MatchStatus> status = new AtomicReference<>(MatchStatus.WAITING);
+    private volatile Match match;
+
+    MatchTicket(UUID id, String playerId, Integer rating, long enqueuedNanos) {
+        this.id = id;
+        this.playerId = playerId;
+        this.rating = rating;
+        this.enqueuedNanos = enqueuedNanos;
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public String playerId() {
+        return playerId;
+    }
+
+    public Integer rating() {
+        return rating;
+    }
+
+    public MatchStatus status() {
+        return status.get();
+    }
+
+    /**
+     * Game and symbol of the player, or null until the ticket is MATCHED.
+     */
+    public Match match() {
+        return match;
+    }
+
+    long enqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    boolean isWaiting() {
+        return status.get() == MatchStatus.WAITING;
+    }
+
+    /**
+     * Waiting or being paired, i.e. the player is still in the lobby.
+     */
+    boolean isOpen() {
+        MatchStatus current = status.get();
+        return current == MatchStatus.WAITING || current == MatchStatus.PAIRING;
+    }
+
+    boolean cancel() {
+        return status.compareAndSet(MatchStatus.WAITING, MatchStatus.CANCELLED);
+    }
+
+    boolean claim() {
+        return status.compareAndSet(MatchStatus.WAITING, MatchStatus.PAIRING);
+    }
+
+    void release() {
+        status.set(MatchStatus.WAITING);
+    }
+
+    void matched(Match match) {
+        this.match = match;
+        status.set(MatchStatus.MATCHED);
+    }
+}
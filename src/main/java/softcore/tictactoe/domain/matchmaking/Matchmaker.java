@@ -0,0 +1,303 @@
+package softcore.tictactoe.domain.matchmaking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.service.GameService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lobby pairing waiting players into games. Enqueueing only appends the ticket to the
+ * lock-free queue of its rating bucket; a single pairing thread drains the queues every
+ * pairing-interval, pairs players within a bucket in arrival order and starts up to
+ * batch-size games per transaction. A player left alone in a bucket is paired with one
+ * from a neighbouring bucket once both have waited widen-after per bucket in between.
+ * Unrated players only meet each other. Tickets nobody has polled for ticket-timeout
+ * are dropped. A player holds at most one open ticket. In a cluster all tickets live on
+ * the node owning {@link #LOBBY_ID}, where requests to the lobby are routed.
+ */
+@Slf4j
+@Component
+public class Matchmaker implements SmartLifecycle {
+
+    /** Routing key of the lobby, hashed onto the cluster like a game id. */
+    public static final UUID LOBBY_ID = UUID.nameUUIDFromBytes("matchmaking-lobby".getBytes(StandardCharsets.UTF_8));
+
+    private static final int UNRATED = Integer.MIN_VALUE;
+
+    private final MatchmakingProperties properties;
+    private final GameService gameService;
+
+    private final Cache<UUID, MatchTicket> tickets;
+    /** The open ticket of each player in the lobby. */
+    private final Map<String, MatchTicket> openTickets = new ConcurrentHashMap<>();
+    private final Map<Integer, Queue<MatchTicket>> buckets = new ConcurrentHashMap<>();
+    /** Pairing thread only: the odd player out of each bucket, carried to the next round. */
+    private final NavigableMap<Integer, MatchTicket> unpaired = new TreeMap<>();
+    private final LongAdder waiting = new LongAdder();
+    private final Counter enqueued;
+    private final Counter matched;
+    private final Timer pairingLatency;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public Matchmaker(MatchmakingProperties properties, GameService gameService, MeterRegistry registry) {
+        this.properties = properties;
+        this.gameService = gameService;
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.ticketTimeout())
+                .removalListener((UUID ticketId, MatchTicket ticket, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED && ticket.cancel()) {
+                        waiting.decrement();
+                        openTickets.remove(ticket.playerId(), ticket);
+                    }
+                })
+                .build();
+
+        Gauge.builder("tictactoe.matchmaking.waiting", waiting, LongAdder::sum)
+                .description("Players waiting for an opponent")
+                .register(registry);
+        this.enqueued = Counter.builder("tictactoe.matchmaking.enqueued")
+                .description("Players that joined the lobby")
+                .register(registry);
+        this.matched = Counter.builder("tictactoe.matchmaking.games")
+                .description("Games started for matched players")
+                .register(registry);
+        this.pairingLatency = Timer.builder("tictactoe.matchmaking.latency")
+                .description("Time from joining the lobby to being matched")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("tictactoe.matchmaking.batch.size")
+                .description("Games started per transaction")
+                .register(registry);
+    }
+
+    /**
+     * Joins the lobby, or returns the player's open ticket if they are already in it,
+     * so nobody is paired with themselves or matched twice at once.
+     */
+    public MatchTicket enqueue(String playerId, Integer rating) {
+        if (!properties.enabled()) {
+            throw new IllegalStateException("Matchmaking is disabled");
+        }
+        GamePlayers.requireValidId(playerId);
+
+        MatchTicket joining = new MatchTicket(UUID.randomUUID(), playerId, rating, System.nanoTime());
+        MatchTicket ticket = openTickets.compute(playerId, (id, open) -> open != null && open.isOpen() ? open : joining);
+        if (ticket != joining) {
+            return ticket;
+        }
+        tickets.put(ticket.id(), ticket);
+        waiting.increment();
+        queueOf(bucketOf(rating)).offer(ticket);
+        enqueued.increment();
+        return ticket;
+    }
+
+    public Optional<MatchTicket> find(UUID ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    /**
+     * Leaves the lobby unless the player is already being paired or matched; the
+     * returned ticket tells which.
+     */
+    public Optional<MatchTicket> cancel(UUID ticketId) {
+        MatchTicket ticket = tickets.getIfPresent(ticketId);
+        if (ticket != null && ticket.cancel()) {
+            waiting.decrement();
+            openTickets.remove(ticket.playerId(), ticket);
+        }
+        return Optional.ofNullable(ticket);
+    }
+
+    /**
+     * One pairing round. Only ever runs on the pairing thread.
+     */
+    void pairWaitingPlayers() {
+        tickets.cleanUp();
+
+        List<MatchTicket> players = new ArrayList<>();
+        for (Map.Entry<Integer, Queue<MatchTicket>> bucket : buckets.entrySet()) {
+            MatchTicket held = unpaired.remove(bucket.getKey());
+            for (MatchTicket ticket; (ticket = bucket.getValue().poll()) != null; ) {
+                held = pairOrHold(held, ticket, players);
+                if (players.size() == 2 * properties.batchSize()) {
+                    startGames(players);
+                    players = new ArrayList<>();
+                }
+            }
+            if (held != null && held.isWaiting()) {
+                unpaired.put(bucket.getKey(), held);
+            }
+        }
+
+        pairAcrossBuckets(players);
+        if (!players.isEmpty()) {
+            startGames(players);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("matchmaking").daemon().start(this::pairingLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pairingLoop() {
+        long intervalNanos = properties.pairingInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            try {
+                pairWaitingPlayers();
+            } catch (RuntimeException e) {
+                log.error("Matchmaking round failed", e);
+            }
+        }
+    }
+
+    /**
+     * Pairs {@code ticket} with the player held back so far, returning who is held next.
+     */
+    private MatchTicket pairOrHold(MatchTicket held, MatchTicket ticket, List<MatchTicket> players) {
+        if (held != null && pair(held, ticket, players)) {
+            return null;
+        }
+        if (held != null && held.isWaiting()) {
+            return held;
+        }
+        return ticket.isWaiting() ? ticket : null;
+    }
+
+    private void pairAcrossBuckets(List<MatchTicket> players) {
+        long now = System.nanoTime();
+        long widenNanos = properties.widenAfter().toNanos();
+        List<Integer> paired = new ArrayList<>();
+        Map.Entry<Integer, MatchTicket> previous = null;
+
+        for (Map.Entry<Integer, MatchTicket> current : unpaired.tailMap(UNRATED, false).entrySet()) {
+            if (previous != null) {
+                long waited = now - Math.max(previous.getValue().enqueuedNanos(), current.getValue().enqueuedNanos());
+                if ((long) current.getKey() - previous.getKey() <= waited / widenNanos
+                        && pair(previous.getValue(), current.getValue(), players)) {
+                    paired.add(previous.getKey());
+                    paired.add(current.getKey());
+                    previous = null;
+                    continue;
+                }
+            }
+            previous = current;
+        }
+        paired.forEach(unpaired::remove);
+    }
+
+    /**
+     * Claims both players, first as X, unless either left the lobby meanwhile.
+     */
+    private boolean pair(MatchTicket first, MatchTicket second, List<MatchTicket> players) {
+        if (!first.claim()) {
+            return false;
+        }
+        if (!second.claim()) {
+            first.release();
+            return false;
+        }
+        players.add(first);
+        players.add(second);
+        return true;
+    }
+
+    private void startGames(List<MatchTicket> players) {
+        int count = players.size() / 2;
+        List<GamePlayers> gamePlayers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            gamePlayers.add(new GamePlayers(players.get(2 * i).playerId(), players.get(2 * i + 1).playerId()));
+        }
+
+        List<GameDto> games;
+        try {
+            games = gameService.createGames(gamePlayers);
+        } catch (RuntimeException e) {
+            log.error("Could not start {} matched games, putting the players back in the lobby", count, e);
+            for (MatchTicket player : players) {
+                player.release();
+                queueOf(bucketOf(player.rating())).offer(player);
+            }
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            MatchTicket x = players.get(2 * i);
+            MatchTicket o = players.get(2 * i + 1);
+            UUID gameId = games.get(i).id();
+            x.matched(new Match(gameId, PlayerSymbol.X, o.playerId()));
+            o.matched(new Match(gameId, PlayerSymbol.O, x.playerId()));
+            pairingLatency.record(now - x.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            pairingLatency.record(now - o.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            openTickets.remove(x.playerId(), x);
+            openTickets.remove(o.playerId(), o);
+        }
+        waiting.add(-players.size());
+        matched.increment(count);
+        batchSizes.record(count);
+    }
+
+    private Queue<MatchTicket> queueOf(int bucket) {
+        Queue<MatchTicket> queue = buckets.get(bucket);
+        return queue != null ? queue : buckets.computeIfAbsent(bucket, key -> new ConcurrentLinkedQueue<>());
+    }
+
+    private int bucketOf(Integer rating) {
+        return rating == null ? UNRATED : Math.floorDiv(rating, properties.ratingBucketWidth());
+    }
+}
@@ -0,0 +1,16 @@
+package softcore.tictactoe.domain.matchmaking;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.matchmaking")
+public record MatchmakingProperties(
+        boolean enabled,
+        int ratingBucketWidth,
+        Duration widenAfter,
+        Duration pairingInterval,
+        int batchSize,
+        Duration ticketTimeout
+) {
+}
@@ -0,0 +1,67 @@
+package softcore.tictactoe.domain.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the move hot path. All meters are registered once up front, so recording
+ * is a nanoTime difference and a lookup-free update.
+ */
+@Component
+public class GameMetrics {
+
+    private final Timer validation;
+    private final Timer persistence;
+    private final Timer responseMapping;
+    private final Timer lockWait;
+    private final Counter conflicts;
+    private final Counter conflictsExhausted;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.validation = timer(registry, "tictactoe.move.validation", "Validation of a single move");
+        this.persistence = timer(registry, "tictactoe.move.persistence", "Move and snapshot inserts, or queueing them in write-behind mode");
+        this.responseMapping = timer(registry, "tictactoe.response.mapping", "Mapping of game state to the API response");
+        this.lockWait = timer(registry, "tictactoe.move.lock.wait", "Wait for a game's lock in write-behind mode");
+        this.conflicts = Counter.builder("tictactoe.move.conflicts")
+                .description("Moves retried after a concurrent update of the same game")
+                .register(registry);
+        this.conflictsExhausted = Counter.builder("tictactoe.move.conflicts.exhausted")
+                .description("Moves rejected after running out of retries")
+                .register(registry);
+    }
+
+    public void recordValidation(long startNanos) {
+        validation.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPersistence(long startNanos) {
+        persistence.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResponseMapping(long startNanos) {
+        responseMapping.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(long startNanos) {
+        lockWait.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void conflict() {
+        conflicts.increment();
+    }
+
+    public void conflictsExhausted() {
+        conflictsExhausted.increment();
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
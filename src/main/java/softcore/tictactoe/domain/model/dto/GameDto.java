@@ -2,33 +2,62 @@ package softcore.tictactoe.domain.model.dto;
 
 import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
 import softcore.tictactoe.domain.model.entity.GameEntity;
-import softcore.tictactoe.domain.model.entity.MoveEntity;
 
-import java.util.List;
 import java.util.UUID;
 
 public record GameDto(
         UUID id,
         GameStatus status,
         PlayerSymbol playerTurn,
-        List<MoveEntity> moves
+        PlayerSymbol aiPlayer,
+        GameBoard board,
+        GamePlayers players
 ) {
+    public GameDto(UUID id, GameStatus status, PlayerSymbol playerTurn, PlayerSymbol aiPlayer, GameBoard board) {
+        this(id, status, playerTurn, aiPlayer, board, GamePlayers.NONE);
+    }
+
+    /**
+     * Game header joined with its latest snapshot; the snapshot columns are null while
+     * the game has none, i.e. the state is still the empty board.
+     */
+    public GameDto(UUID id, PlayerSymbol aiPlayer, int boardSize, int winLength, String xPlayerId, String oPlayerId,
+                   GameStatus status, PlayerSymbol playerTurn, byte[] xCells, byte[] oCells) {
+        this(id,
+                status != null ? status : GameStatus.IN_PROGRESS,
+                playerTurn != null ? playerTurn : PlayerSymbol.X,
+                aiPlayer,
+                xCells != null
+                        ? GameBoard.of(boardSize, winLength, xCells, oCells)
+                        : GameBoard.empty(boardSize, winLength),
+                xPlayerId != null || oPlayerId != null ? new GamePlayers(xPlayerId, oPlayerId) : GamePlayers.NONE);
+    }
+
     public static GameDto fromEntity(GameEntity game) {
-        return new GameDto(
-                game.getId(),
-                game.getStatus(),
-                game.getPlayerTurn(),
-                null
-        );
+        return new GameDto(game.getId(), game.getAiPlayer(), game.getBoardSize(), game.getWinLength(),
+                game.getXPlayerId(), game.getOPlayerId(), null, null, null, null);
     }
 
-    public static GameDto fromEntity(GameEntity game, List<MoveEntity> moves) {
-        return new GameDto(
-                game.getId(),
-                game.getStatus(),
-                game.getPlayerTurn(),
-                moves
-        );
+    /**
+     * Changes with every move and when the game ends, including by abandonment.
+     */
+    public String version() {
+        return board.moveCount() + "-" + status;
+    }
+
+    /**
+     * State after {@code player} places a stone at (x, y). The move must be valid.
+     */
+    public GameDto withMove(int x, int y, PlayerSymbol player) {
+        GameBoard next = board.place(x, y, player);
+
+        GameStatus nextStatus = next.statusAfterMove(x, y, player);
+        PlayerSymbol nextTurn = nextStatus == GameStatus.IN_PROGRESS
+                ? (player == PlayerSymbol.X ? PlayerSymbol.O : PlayerSymbol.X)
+                : playerTurn;
+
+        return new GameDto(id, nextStatus, nextTurn, aiPlayer, next, players);
     }
 }
@@ -0,0 +1,32 @@
+package softcore.tictactoe.domain.model.dto;
+
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+/**
+ * Ids of the players behind X and O; either is null when that side is anonymous or
+ * played by the AI.
+ */
+public record GamePlayers(String x, String o) {
+
+    public static final int MAX_ID_LENGTH = 64;
+    public static final GamePlayers NONE = new GamePlayers(null, null);
+
+    public GamePlayers {
+        if (x != null) {
+            requireValidId(x);
+        }
+        if (o != null) {
+            requireValidId(o);
+        }
+    }
+
+    public static void requireValidId(String playerId) {
+        if (playerId == null || playerId.isBlank() || playerId.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Player id must be 1 to " + MAX_ID_LENGTH + " characters");
+        }
+    }
+
+    public String idOf(PlayerSymbol player) {
+        return player == PlayerSymbol.X ? x : o;
+    }
+}
@@ -0,0 +1,9 @@
+package softcore.tictactoe.domain.model.dto;
+
+import java.util.List;
+
+public record MoveBatchDto(
+        GameDto game,
+        List<String> rejections
+) {
+}
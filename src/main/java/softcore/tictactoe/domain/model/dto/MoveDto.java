@@ -0,0 +1,6 @@
+package softcore.tictactoe.domain.model.dto;
+
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+public record MoveDto(int xAxis, int yAxis, PlayerSymbol player) {
+}
@@ -0,0 +1,17 @@
+package softcore.tictactoe.domain.model.dto;
+
+public record PlayerStatsDto(
+        String playerId,
+        int wins,
+        int losses,
+        int draws,
+        int currentStreak,
+        int bestStreak
+) {
+    /**
+     * Finished games counted so far; grows with every update of the player's row.
+     */
+    public int games() {
+        return wins + losses + draws;
+    }
+}
@@ -2,12 +2,15 @@ package softcore.tictactoe.domain.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Immutable game header. The state lives in the move stream and its snapshots.
+ */
 @Entity
 @Table(name = "game")
 @Getter
@@ -22,27 +25,28 @@ public class GameEntity {
     private UUID id;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "player_turn", nullable = false)
-    private PlayerSymbol playerTurn;
+    @Column(name = "ai_player", updatable = false)
+    private PlayerSymbol aiPlayer;
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private GameStatus status;
+    @Builder.Default
+    @Column(name = "board_size", nullable = false, updatable = false)
+    private int boardSize = GameBoard.CLASSIC_SIZE;
+
+    @Builder.Default
+    @Column(name = "win_length", nullable = false, updatable = false)
+    private int winLength = GameBoard.CLASSIC_SIZE;
+
+    @Column(name = "x_player_id", updatable = false)
+    private String xPlayerId;
+
+    @Column(name = "o_player_id", updatable = false)
+    private String oPlayerId;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(name = "updated_at")
-    private LocalDateTime updatedAt;
-
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
-        this.updatedAt = this.createdAt;
-    }
-
-    @PreUpdate
-    public void preUpdate() {
-        this.updatedAt = LocalDateTime.now();
     }
 }
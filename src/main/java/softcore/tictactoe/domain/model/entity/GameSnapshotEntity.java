@@ -0,0 +1,55 @@
+package softcore.tictactoe.domain.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Game state after the move with sequence number {@code seq}.
+ */
+@Entity
+@Table(name = "game_snapshot")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameSnapshotEntity {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false, updatable = false)
+    private GameEntity game;
+
+    @Column(nullable = false, updatable = false)
+    private int seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private GameStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "player_turn", nullable = false, updatable = false)
+    private PlayerSymbol playerTurn;
+
+    @Column(name = "x_cells", nullable = false, updatable = false)
+    private byte[] xCells;
+
+    @Column(name = "o_cells", nullable = false, updatable = false)
+    private byte[] oCells;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
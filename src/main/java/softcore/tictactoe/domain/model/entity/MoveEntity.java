@@ -34,6 +34,9 @@ public class MoveEntity {
     @Column(name = "y_axis", nullable = false)
     private int yAxis;
 
+    @Column(nullable = false, updatable = false)
+    private int seq;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
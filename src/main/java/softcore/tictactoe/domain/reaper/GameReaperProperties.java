@@ -0,0 +1,14 @@
+package softcore.tictactoe.domain.reaper;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.reaper")
+public record GameReaperProperties(
+        boolean enabled,
+        Duration idleTimeout,
+        Duration tick,
+        int batchSize
+) {
+}
@@ -0,0 +1,131 @@
+package softcore.tictactoe.domain.reaper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deadlines hashed into one bucket per tick, wrapping around once the wheel is full.
+ * Scheduling is O(1) from any thread; a single thread calls {@link #advance} and only
+ * visits the buckets of the ticks that passed. Rescheduling does not search the old
+ * bucket: the key stays there and is dropped when that bucket comes round.
+ */
+final class HashedTimingWheel<K, V> {
+
+    private record Timeout<V>(V value, long deadlineNanos) {
+    }
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Set<K>[] buckets;
+    private final Map<K, Timeout<V>> timeouts = new ConcurrentHashMap<>();
+
+    private volatile long nextTick;
+
+    /**
+     * Sized so that a deadline up to {@code maxTimeoutNanos} away lands in a bucket that
+     * is visited only once before it is due.
+     */
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickNanos, long maxTimeoutNanos, long startNanos) {
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.buckets = new Set[(int) (maxTimeoutNanos / tickNanos) + 2];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    /**
+     * Sets the deadline of {@code key}, replacing any earlier one.
+     */
+    void schedule(K key, V value, long deadlineNanos) {
+        timeouts.put(key, new Timeout<>(value, deadlineNanos));
+        bucketOf(deadlineNanos).add(key);
+    }
+
+    /**
+     * Sets the deadline of {@code key} unless it already has one.
+     */
+    void scheduleIfAbsent(K key, V value, long deadlineNanos) {
+        if (timeouts.putIfAbsent(key, new Timeout<>(value, deadlineNanos)) == null) {
+            bucketOf(deadlineNanos).add(key);
+        }
+    }
+
+    void cancel(K key) {
+        timeouts.remove(key);
+    }
+
+    int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * Removes and returns the values of all keys whose deadline is at or before
+     * {@code nowNanos}, at most one tick late.
+     */
+    List<V> advance(long nowNanos) {
+        List<V> expired = new ArrayList<>();
+        long lastTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        for (long tick = nextTick; tick <= lastTick; tick++) {
+            int bucket = index(tick);
+            for (Iterator<K> keys = buckets[bucket].iterator(); keys.hasNext(); ) {
+                K key = keys.next();
+                Timeout<V> timeout = timeouts.get(key);
+                if (timeout == null) {
+                    keys.remove();
+                    requeueIfRescheduled(key, null);
+                    continue;
+                }
+
+                long dueTick = tickOf(timeout.deadlineNanos());
+                if (dueTick > tick) {
+                    // Rescheduled into another bucket, or due in a later round of this one
+                    if (index(dueTick) != bucket) {
+                        keys.remove();
+                        requeueIfRescheduled(key, timeout);
+                    }
+                    continue;
+                }
+
+                keys.remove();
+                if (timeouts.remove(key, timeout)) {
+                    expired.add(timeout.value());
+                } else {
+                    requeueIfRescheduled(key, timeout);
+                }
+            }
+            nextTick = tick + 1;
+        }
+        return expired;
+    }
+
+    /**
+     * A {@link #schedule} racing with {@link #advance} may add the key to the bucket just
+     * before advance removes it from there, so a key whose timeout changed since it was
+     * read goes back into the bucket of its current deadline.
+     */
+    private void requeueIfRescheduled(K key, Timeout<V> seen) {
+        Timeout<V> current = timeouts.get(key);
+        if (current != null && current != seen) {
+            bucketOf(current.deadlineNanos()).add(key);
+        }
+    }
+
+    private Set<K> bucketOf(long deadlineNanos) {
+        // A deadline already passed waits for the tick after the one being visited
+        return buckets[index(Math.max(tickOf(deadlineNanos), nextTick + 1))];
+    }
+
+    private long tickOf(long deadlineNanos) {
+        return Math.ceilDiv(deadlineNanos - startNanos, tickNanos);
+    }
+
+    private int index(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.length);
+    }
+}
@@ -0,0 +1,173 @@
+package softcore.tictactoe.domain.reaper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.event.GameAbandonedEvent;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.persistance.repository.GameSnapshotBatchRepository;
+import softcore.tictactoe.persistance.writebehind.WriteBehindMoveWriter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marks games ABANDONED once nobody has moved for the idle timeout. Games in progress
+ * sit in a timing wheel keyed by their last move, filled at startup and as games are
+ * moved or read, so finding the idle ones costs one bucket per tick instead of a table
+ * scan. Expired games are written in batches, dropped from the cache and their event
+ * streams closed.
+ */
+@Slf4j
+@Component
+public class IdleGameReaper {
+
+    private final GameReaperProperties properties;
+    private final GameSnapshotBatchRepository gameSnapshotBatchRepository;
+    private final WriteBehindMoveWriter moveWriter;
+    private final GameStateCache gameStateCache;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HashedTimingWheel<UUID, GameDto> wheel;
+    private final Counter abandoned;
+
+    public IdleGameReaper(GameReaperProperties properties,
+                          GameSnapshotBatchRepository gameSnapshotBatchRepository,
+                          WriteBehindMoveWriter moveWriter,
+                          GameStateCache gameStateCache,
+                          TransactionOperations transactionOperations,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry registry) {
+        this.properties = properties;
+        this.gameSnapshotBatchRepository = gameSnapshotBatchRepository;
+        this.moveWriter = moveWriter;
+        this.gameStateCache = gameStateCache;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HashedTimingWheel<>(
+                properties.tick().toNanos(), properties.idleTimeout().toNanos(), System.nanoTime());
+
+        Gauge.builder("tictactoe.reaper.tracked", wheel, HashedTimingWheel::size)
+                .description("Games in progress waiting for their idle timeout")
+                .register(registry);
+        this.abandoned = Counter.builder("tictactoe.reaper.abandoned")
+                .description("Games marked abandoned after the idle timeout")
+                .register(registry);
+    }
+
+    /**
+     * Restarts the idle timeout of a game that was just moved in, once the current
+     * transaction commits. A finished game stops being tracked.
+     */
+    public void touch(GameDto game) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            track(game);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                track(game);
+            }
+        });
+    }
+
+    /**
+     * Tracks a game read from the database, e.g. after a restart, keeping the running
+     * timeout if it is already tracked.
+     */
+    public void watch(GameDto game) {
+        if (properties.enabled() && game.status() == GameStatus.IN_PROGRESS) {
+            wheel.scheduleIfAbsent(game.id(), game, deadline());
+        }
+    }
+
+    /**
+     * Tracks the games left in progress when this node started, timed from their last
+     * move, so that games nobody reads again are still abandoned after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void watchInProgressGames() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long nowNanos = System.nanoTime();
+        transactionOperations.executeWithoutResult(status ->
+                gameSnapshotBatchRepository.forEachInProgress((game, lastMoveAt) -> {
+                    Duration remaining = properties.idleTimeout().minus(Duration.between(lastMoveAt, now));
+                    long deadline = nowNanos + (remaining.isNegative() ? 0 : remaining.toNanos());
+                    wheel.scheduleIfAbsent(game.id(), game, deadline);
+                }));
+        log.info("Watching {} games in progress for their idle timeout", wheel.size());
+    }
+
+    /**
+     * Rejects the moves of the current transaction if the game was abandoned meanwhile.
+     * Only the reaper ends games behind the players' backs, so nothing is checked while
+     * it is disabled.
+     */
+    public void requireInProgress(UUID gameId) {
+        if (properties.enabled()) {
+            gameSnapshotBatchRepository.requireInProgress(List.of(gameId));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${tictactoe.reaper.tick}")
+    public void reapIdleGames() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        List<GameDto> idle = wheel.advance(System.nanoTime());
+        if (idle.isEmpty()) {
+            return;
+        }
+
+        // Queued moves must reach the move table before it is checked for later moves
+        if (moveWriter.isEnabled()) {
+            moveWriter.flush();
+        }
+
+        for (int from = 0; from < idle.size(); from += properties.batchSize()) {
+            List<GameDto> batch = idle.subList(from, Math.min(from + properties.batchSize(), idle.size()));
+            List<UUID> ids = transactionOperations.execute(status ->
+                    gameSnapshotBatchRepository.insertAbandoned(batch));
+            for (UUID id : ids) {
+                gameStateCache.evict(id);
+                eventPublisher.publishEvent(new GameAbandonedEvent(id));
+            }
+            abandoned.increment(ids.size());
+        }
+    }
+
+    private void track(GameDto game) {
+        if (game.status() == GameStatus.IN_PROGRESS) {
+            wheel.schedule(game.id(), game, deadline());
+        } else {
+            wheel.cancel(game.id());
+        }
+    }
+
+    private long deadline() {
+        return System.nanoTime() + properties.idleTimeout().toNanos();
+    }
+}
@@ -0,0 +1,18 @@
+package softcore.tictactoe.domain.service;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import softcore.tictactoe.domain.engine.AiMoves;
+
+/**
+ * Builds the AI reply table while the context starts, so the first move against the AI
+ * does not wait for the search of every position.
+ */
+@Component
+public class AiMovesLoader implements InitializingBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        AiMoves.load();
+    }
+}
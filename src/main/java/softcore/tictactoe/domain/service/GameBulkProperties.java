@@ -0,0 +1,14 @@
+package softcore.tictactoe.domain.service;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "tictactoe.bulk")
+public record GameBulkProperties(
+        @Min(1) int batchSize,
+        @Min(1) int maxCount,
+        @Min(1) int maxMoves
+) {
+}
@@ -1,150 +1,650 @@
 package softcore.tictactoe.domain.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import softcore.tictactoe.api.model.MakeMoveCommand;
 import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
 import softcore.tictactoe.common.exception.GameNotFoundException;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.engine.AiMoves;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.event.GameFinishedEvent;
+import softcore.tictactoe.domain.event.MoveMadeEvent;
+import softcore.tictactoe.domain.lock.GameLockManager;
+import softcore.tictactoe.domain.mailbox.GameMailboxes;
+import softcore.tictactoe.domain.mailbox.PendingMove;
+import softcore.tictactoe.domain.metrics.GameMetrics;
 import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.dto.MoveBatchDto;
+import softcore.tictactoe.domain.model.dto.MoveDto;
 import softcore.tictactoe.domain.model.entity.GameEntity;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
 import softcore.tictactoe.domain.model.entity.MoveEntity;
+import softcore.tictactoe.domain.reaper.IdleGameReaper;
+import softcore.tictactoe.persistance.repository.GameArchiveRepository;
 import softcore.tictactoe.persistance.repository.GameRepository;
+import softcore.tictactoe.persistance.repository.GameSnapshotRepository;
+import softcore.tictactoe.persistance.repository.MoveBatchRepository;
 import softcore.tictactoe.persistance.repository.MoveRepository;
+import softcore.tictactoe.persistance.writebehind.PendingWrite;
+import softcore.tictactoe.persistance.writebehind.WriteBehindMoveWriter;
+import softcore.tictactoe.persistance.writebehind.WriteBehindProperties;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class GameService {
 
-    private static final int LOCK_TIMEOUT_SECONDS = 2;
+    private static final int MAX_MOVE_ATTEMPTS = 3;
 
     private final GameRepository gameRepository;
     private final MoveRepository moveRepository;
-
-    private final ConcurrentHashMap<UUID, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final GameStateCache gameStateCache;
+    private final MoveBatchRepository moveBatchRepository;
+    private final TransactionOperations transactionOperations;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameMetrics gameMetrics;
+    private final GameBulkProperties gameBulkProperties;
+    private final GameSnapshotRepository gameSnapshotRepository;
+    private final GameSnapshotProperties gameSnapshotProperties;
+    private final WriteBehindMoveWriter moveWriter;
+    private final WriteBehindProperties writeBehindProperties;
+    private final GameLockManager gameLockManager;
+    private final GameArchiveRepository gameArchiveRepository;
+    private final IdleGameReaper idleGameReaper;
+    private final GameMailboxes gameMailboxes;
 
     @Transactional
     public GameDto createNewGame() {
+        return createNewGame(GameBoard.CLASSIC_SIZE, GameBoard.CLASSIC_SIZE, null, GamePlayers.NONE);
+    }
+
+    /**
+     * Creates a boardSize x boardSize game won by winLength in a row. A non-null
+     * {@code aiPlayer} is played by the server, replying right after each move of the
+     * other player; that is only supported on the classic 3x3 board. The ids in
+     * {@code players} are credited with the result once the game is over.
+     */
+    @Transactional
+    public GameDto createNewGame(int boardSize, int winLength, PlayerSymbol aiPlayer, GamePlayers players) {
+        GameBoard board = GameBoard.empty(boardSize, winLength);
+        if (aiPlayer != null && !board.isClassic()) {
+            throw new IllegalArgumentException("AI opponent is only available on the classic 3x3 board");
+        }
+        if (aiPlayer != null && players.idOf(aiPlayer) != null) {
+            throw new IllegalArgumentException("Player " + aiPlayer + " is played by the AI");
+        }
+
         GameEntity newGame = GameEntity.builder()
-                .status(GameStatus.IN_PROGRESS)
-                .playerTurn(PlayerSymbol.X)
+                .aiPlayer(aiPlayer)
+                .boardSize(board.size())
+                .winLength(board.winLength())
+                .xPlayerId(players.x())
+                .oPlayerId(players.o())
                 .build();
 
         GameEntity saved = gameRepository.save(newGame);
-        return GameDto.fromEntity(saved);
+        GameDto game = GameDto.fromEntity(saved);
+
+        MakeMoveCommand reply = aiReply(game);
+        if (reply == null) {
+            gameStateCache.write(game);
+            idleGameReaper.touch(game);
+            return game;
+        }
+
+        GameDto created = game;
+        game = applyMove(game, reply);
+        saveMove(game, reply);
+        return saveState(created, game);
+    }
+
+    public void createNewGames(int count, Consumer<List<UUID>> onBatchCreated) {
+        requireValidGameCount(count);
+
+        int batchSize = gameBulkProperties.batchSize();
+        for (int created = 0; created < count; created += batchSize) {
+            int size = Math.min(batchSize, count - created);
+            List<GamePlayers> anonymous = Collections.nCopies(size, GamePlayers.NONE);
+            List<UUID> ids = transactionOperations.execute(status -> insertGames(anonymous));
+            onBatchCreated.accept(ids);
+        }
+    }
+
+    public void requireValidGameCount(int count) {
+        if (count < 1 || count > gameBulkProperties.maxCount()) {
+            throw new IllegalArgumentException("Game count must be between 1 and " + gameBulkProperties.maxCount());
+        }
+    }
+
+    public void requireValidMoveCount(int count) {
+        if (count < 1 || count > gameBulkProperties.maxMoves()) {
+            throw new IllegalArgumentException("Move count must be between 1 and " + gameBulkProperties.maxMoves());
+        }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Creates one classic game per entry of {@code players} in one transaction and caches
+     * them, so the first moves of matched players do not read them back.
+     */
+    public List<GameDto> createGames(List<GamePlayers> players) {
+        List<UUID> ids = transactionOperations.execute(status -> insertGames(players));
+
+        List<GameDto> games = new ArrayList<>(players.size());
+        for (int i = 0; i < ids.size(); i++) {
+            GameDto game = new GameDto(ids.get(i), null, GameBoard.CLASSIC_SIZE, GameBoard.CLASSIC_SIZE,
+                    players.get(i).x(), players.get(i).o(), null, null, null, null);
+            gameStateCache.putLoaded(game);
+            idleGameReaper.touch(game);
+            games.add(game);
+        }
+        return games;
+    }
+
+    /**
+     * The state as this node last saw it; see {@link GameStateCache} for reads of games
+     * also played through other nodes.
+     */
     public GameDto getGame(UUID gameId) {
-        GameEntity gameEntity = gameRepository.findById(gameId)
-                .orElseThrow(() -> new GameNotFoundException(gameId));
-        var moves = moveRepository.findAllByGameIdOrderByCreatedAtAsc(gameId);
-        return GameDto.fromEntity(gameEntity, moves);
+        GameDto cached = gameStateCache.get(gameId);
+        return cached != null ? cached : loadGame(gameId);
+    }
+
+    /**
+     * In mailbox mode the move is queued behind the game's pending moves and the future
+     * completes with the state after the batch it was applied in; otherwise the move is
+     * made on the calling thread.
+     */
+    public CompletableFuture<GameDto> submitMove(MakeMoveCommand command) {
+        if (gameMailboxes.isEnabled()) {
+            return gameMailboxes.submit(command.gameId(), List.of(command), this::applyMailboxBatch).getFirst();
+        }
+
+        try {
+            return CompletableFuture.completedFuture(makeMove(command));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
-    @Transactional
     public GameDto makeMove(MakeMoveCommand command) {
-        ReentrantLock lock = locks.computeIfAbsent(command.gameId(), id -> new ReentrantLock());
-        boolean acquired = false;
+        if (gameMailboxes.isEnabled()) {
+            return join(submitMove(command));
+        }
+        if (moveWriter.isEnabled()) {
+            return withGameLock(command.gameId(), () -> queueMove(command));
+        }
+        return withOptimisticRetry(command.gameId(), () -> processMove(command));
+    }
+
+    public MoveBatchDto makeMoves(UUID gameId, List<MakeMoveCommand> commands) {
+        requireValidMoveCount(commands.size());
+        if (gameMailboxes.isEnabled()) {
+            return awaitBatch(gameId, gameMailboxes.submit(gameId, commands, this::applyMailboxBatch));
+        }
+        if (moveWriter.isEnabled()) {
+            return withGameLock(gameId, () -> processMoves(gameId, commands)).toBatchDto();
+        }
+        return withOptimisticRetry(gameId, () -> processMoves(gameId, commands)).toBatchDto();
+    }
+
+    /**
+     * Moves of all callers queued for one game, validated in order and written together.
+     * The mailbox is the game's only writer on this node, so write-behind needs no lock.
+     */
+    private void applyMailboxBatch(UUID gameId, List<PendingMove> moves) {
+        List<MakeMoveCommand> commands = moves.stream().map(PendingMove::command).toList();
+        AppliedMoves applied;
+        if (moveWriter.isEnabled()) {
+            reloadIfWriteFailed(gameId);
+            applied = processMoves(gameId, commands);
+        } else {
+            applied = withOptimisticRetry(gameId, () -> processMoves(gameId, commands));
+        }
+
+        for (int i = 0; i < moves.size(); i++) {
+            RuntimeException rejection = applied.rejections().get(i);
+            if (rejection == null) {
+                moves.get(i).result().complete(applied.game());
+            } else {
+                moves.get(i).result().completeExceptionally(rejection);
+            }
+        }
+    }
 
+    private MoveBatchDto awaitBatch(UUID gameId, List<CompletableFuture<GameDto>> results) {
+        GameDto game = null;
+        List<String> rejections = new ArrayList<>(results.size());
+        for (CompletableFuture<GameDto> result : results) {
+            try {
+                game = join(result);
+                rejections.add(null);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                rejections.add(e.getMessage());
+            }
+        }
+        return new MoveBatchDto(game != null ? game : getGame(gameId), rejections);
+    }
+
+    private static GameDto join(CompletableFuture<GameDto> result) {
         try {
-            acquired = lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            if (!acquired) {
-                throw new IllegalStateException("Timeout while waiting for game lock: " + command.gameId());
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            return processMove(command);
+            throw e;
+        }
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Thread interrupted while locking game: " + command.gameId(), e);
-        } finally {
-            if (acquired) {
-                lock.unlock();
+    private <T> T withOptimisticRetry(UUID gameId, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> action.get());
+            } catch (DataIntegrityViolationException e) {
+                gameStateCache.evict(gameId);
+                if (attempt == MAX_MOVE_ATTEMPTS) {
+                    gameMetrics.conflictsExhausted();
+                    throw new IllegalStateException("Concurrent modification of game: " + gameId, e);
+                }
+                gameMetrics.conflict();
             }
         }
     }
 
+    /**
+     * In write-behind mode the cached state is authoritative, so moves of one game are
+     * serialized in memory instead of by the (game_id, seq) index at commit. Waiting
+     * for room in the write-behind queue happens before the lock is taken, so a full
+     * queue never holds up the other games of the lock's stripe.
+     */
+    private <T> T withGameLock(UUID gameId, Supplier<T> action) {
+        moveWriter.awaitCapacity();
+        return gameLockManager.executeWithLock(gameId, writeBehindProperties.lockTimeout(), () -> {
+            reloadIfWriteFailed(gameId);
+            return action.get();
+        });
+    }
+
+    /**
+     * Once the writer dropped a write of the game, the cached state is ahead of the
+     * database. Holding the game exclusively, its remaining queued writes are drained,
+     * which drops them too, and the state is read back before the writer accepts the
+     * game again.
+     */
+    private void reloadIfWriteFailed(UUID gameId) {
+        if (!moveWriter.isFailed(gameId)) {
+            return;
+        }
+        moveWriter.flush();
+        gameStateCache.evict(gameId);
+        loadGame(gameId);
+        moveWriter.recovered(gameId);
+    }
+
+    /**
+     * Appends the move, and the AI reply if any, to the game's move stream. A concurrent
+     * append of the same seq violates the (game_id, seq) unique index and is retried.
+     */
     private GameDto processMove(MakeMoveCommand command) {
-        GameEntity game = gameRepository.findById(command.gameId())
-                .orElseThrow(() -> new GameNotFoundException(command.gameId()));
+        GameDto game = validGame(command);
+
+        GameDto updatedGame = applyMove(game, command);
+
+        long start = System.nanoTime();
+        idleGameReaper.requireInProgress(game.id());
+        saveMove(updatedGame, command);
+
+        MakeMoveCommand reply = aiReply(updatedGame);
+        if (reply != null) {
+            updatedGame = applyMove(updatedGame, reply);
+            saveMove(updatedGame, reply);
+        }
+
+        GameDto savedGame = saveState(game, updatedGame);
+        gameMetrics.recordPersistence(start);
+        return savedGame;
+    }
+
+    private GameDto queueMove(MakeMoveCommand command) {
+        GameDto game = getGame(command.gameId());
 
         validateGameState(game, command);
 
+        List<MoveEntity> acceptedMoves = new ArrayList<>(2);
+        List<MoveMadeEvent> events = new ArrayList<>(2);
+        GameDto updatedGame = applyMove(game, command);
+        acceptMove(updatedGame, command, acceptedMoves, events);
+
+        MakeMoveCommand reply = aiReply(updatedGame);
+        if (reply != null) {
+            updatedGame = applyMove(updatedGame, reply);
+            acceptMove(updatedGame, reply, acceptedMoves, events);
+        }
+
+        long start = System.nanoTime();
+        GameDto savedGame = saveMoves(game, updatedGame, acceptedMoves, events);
+        gameMetrics.recordPersistence(start);
+        return savedGame;
+    }
+
+    /**
+     * The state to play {@code command} on. Without write-behind, a move rejected by the
+     * cached state is checked once more against the database, since another node may
+     * have moved the game on.
+     */
+    private GameDto validGame(MakeMoveCommand command) {
+        GameDto cached = gameStateCache.get(command.gameId());
+        GameDto game = cached != null ? cached : loadGame(command.gameId());
+        try {
+            validateGameState(game, command);
+            return game;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            GameDto current = cached != null ? reloadGame(cached) : null;
+            if (current == null) {
+                throw e;
+            }
+            validateGameState(current, command);
+            return current;
+        }
+    }
+
+    /**
+     * The moves are played on the game as cached and, like a single move, once more on
+     * the state in the database if the cached one rejected any of them.
+     */
+    private AppliedMoves processMoves(UUID gameId, List<MakeMoveCommand> commands) {
+        GameDto cached = gameStateCache.get(gameId);
+        GameDto initialGame = cached != null ? cached : loadGame(gameId);
+        PlayedMoves played = playMoves(initialGame, commands);
+        if (cached != null && played.rejections().stream().anyMatch(Objects::nonNull)) {
+            GameDto current = reloadGame(cached);
+            if (current != null) {
+                initialGame = current;
+                played = playMoves(current, commands);
+            }
+        }
+
+        if (played.acceptedMoves().isEmpty()) {
+            return new AppliedMoves(played.game(), played.rejections());
+        }
+
+        long start = System.nanoTime();
+        GameDto savedGame = saveMoves(initialGame, played.game(), played.acceptedMoves(), played.events());
+        gameMetrics.recordPersistence(start);
+        return new AppliedMoves(savedGame, played.rejections());
+    }
+
+    private PlayedMoves playMoves(GameDto initialGame, List<MakeMoveCommand> commands) {
+        GameDto game = initialGame;
+        List<MoveEntity> acceptedMoves = new ArrayList<>(commands.size());
+        List<MoveMadeEvent> events = new ArrayList<>(commands.size());
+        List<RuntimeException> rejections = new ArrayList<>(commands.size());
+
+        for (MakeMoveCommand command : commands) {
+            try {
+                validateGameState(game, command);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                rejections.add(e);
+                continue;
+            }
+
+            game = applyMove(game, command);
+            acceptMove(game, command, acceptedMoves, events);
+
+            MakeMoveCommand reply = aiReply(game);
+            if (reply != null) {
+                game = applyMove(game, reply);
+                acceptMove(game, reply, acceptedMoves, events);
+            }
+            rejections.add(null);
+        }
+        return new PlayedMoves(game, acceptedMoves, events, rejections);
+    }
+
+    /**
+     * The game as stored, or null if it is what was cached, or if write-behind makes the
+     * cache authoritative.
+     */
+    private GameDto reloadGame(GameDto cached) {
+        if (moveWriter.isEnabled()) {
+            return null;
+        }
+        gameStateCache.evict(cached.id());
+        GameDto current = loadGame(cached.id());
+        return current.version().equals(cached.version()) ? null : current;
+    }
+
+    private GameDto applyMove(GameDto game, MakeMoveCommand command) {
+        return game.withMove(command.x(), command.y(), command.player());
+    }
+
+    private MakeMoveCommand aiReply(GameDto game) {
+        if (game.aiPlayer() == null || game.status() != GameStatus.IN_PROGRESS || game.playerTurn() != game.aiPlayer()) {
+            return null;
+        }
+
+        int cell = AiMoves.bestCell(game.board());
+        return new MakeMoveCommand(game.id(), cell / GameBoard.CLASSIC_SIZE, cell % GameBoard.CLASSIC_SIZE, game.aiPlayer());
+    }
+
+    private void saveMove(GameDto game, MakeMoveCommand command) {
         MoveEntity move = MoveEntity.builder()
-                .game(game)
+                .game(gameRepository.getReferenceById(game.id()))
+                .seq(game.board().moveCount())
                 .xAxis(command.x())
                 .yAxis(command.y())
                 .player(command.player())
                 .build();
 
-        MoveEntity newMove = moveRepository.save(move);
-        var allMoves = moveRepository.findAllByGameIdOrderByCreatedAtAsc(game.getId());
+        moveRepository.save(move);
+        eventPublisher.publishEvent(moveEvent(game, command));
+    }
+
+    private void acceptMove(GameDto game, MakeMoveCommand command,
+                            List<MoveEntity> acceptedMoves, List<MoveMadeEvent> events) {
+        events.add(moveEvent(game, command));
+        acceptedMoves.add(MoveEntity.builder()
+                .seq(game.board().moveCount())
+                .xAxis(command.x())
+                .yAxis(command.y())
+                .player(command.player())
+                .build());
+    }
 
-        if (hasPlayerWon(allMoves, newMove)) {
-            game.setStatus(GameStatus.valueOf(newMove.getPlayer() + "_WINS"));
-        } else if (allMoves.size() == 9) {
-            game.setStatus(GameStatus.DRAW);
+    private MoveMadeEvent moveEvent(GameDto game, MakeMoveCommand command) {
+        return new MoveMadeEvent(
+                game.id(),
+                game.board().moveCount(),
+                command.x(),
+                command.y(),
+                command.player(),
+                game.status(),
+                game.playerTurn()
+        );
+    }
+
+    /**
+     * Inserts the accepted moves, or hands them to the write-behind writer and answers
+     * from memory. Their events are published once the new state is cached, so a
+     * listener reading the game sees it.
+     */
+    private GameDto saveMoves(GameDto previous, GameDto game, List<MoveEntity> moves, List<MoveMadeEvent> events) {
+        GameDto savedGame;
+        if (!moveWriter.isEnabled()) {
+            idleGameReaper.requireInProgress(game.id());
+            moveBatchRepository.insertAll(game.id(), moves);
+            savedGame = saveState(previous, game);
         } else {
-            game.setPlayerTurn(nextPlayer(newMove.getPlayer()));
+            moveWriter.enqueue(new PendingWrite(game.id(), moves, snapshotIfDue(previous, game), finishedEvent(previous, game)));
+            gameStateCache.write(game);
+            idleGameReaper.touch(game);
+            savedGame = game;
         }
 
-        GameEntity updatedGame = gameRepository.save(game);
-        return GameDto.fromEntity(updatedGame, allMoves);
+        events.forEach(eventPublisher::publishEvent);
+        return savedGame;
     }
 
-    private void validateGameState(GameEntity game, MakeMoveCommand command) {
-        if (game.getStatus() != GameStatus.IN_PROGRESS) {
-            throw new IllegalStateException("Game already finished");
+    private GameDto saveState(GameDto previous, GameDto game) {
+        GameSnapshotEntity snapshot = snapshotIfDue(previous, game);
+        if (snapshot != null) {
+            snapshot.setGame(gameRepository.getReferenceById(game.id()));
+            gameSnapshotRepository.save(snapshot);
         }
 
-        if (command.player() != game.getPlayerTurn()) {
-            throw new IllegalArgumentException("It's not your turn");
+        gameStateCache.write(game);
+        idleGameReaper.touch(game);
+        publishIfFinished(previous, game);
+        return game;
+    }
+
+    private void publishIfFinished(GameDto previous, GameDto game) {
+        GameFinishedEvent finished = finishedEvent(previous, game);
+        if (finished != null) {
+            eventPublisher.publishEvent(finished);
         }
+    }
 
-        if (command.x() < 0 || command.x() > 2 || command.y() < 0 || command.y() > 2) {
-            throw new IllegalArgumentException("Move position is out of bounds");
+    private static GameFinishedEvent finishedEvent(GameDto previous, GameDto game) {
+        if (previous.status() != GameStatus.IN_PROGRESS || game.status() == GameStatus.IN_PROGRESS) {
+            return null;
         }
+        return new GameFinishedEvent(game.id(), game.status(), game.players());
+    }
 
-        boolean positionTaken = moveRepository.findAllByGameIdOrderByCreatedAtAsc(game.getId()).stream()
-                .anyMatch(m -> m.getXAxis() == command.x() && m.getYAxis() == command.y());
+    /**
+     * A snapshot is due once the game is over or its move count crosses a multiple of the
+     * snapshot interval since {@code previous}. The game row itself is never updated.
+     */
+    private GameSnapshotEntity snapshotIfDue(GameDto previous, GameDto game) {
+        int interval = gameSnapshotProperties.interval();
+        boolean snapshotDue = game.status() != GameStatus.IN_PROGRESS
+                || game.board().moveCount() / interval > previous.board().moveCount() / interval;
+        if (!snapshotDue) {
+            return null;
+        }
 
-        if (positionTaken) {
-            throw new IllegalArgumentException("This position is already taken");
+        return GameSnapshotEntity.builder()
+                .seq(game.board().moveCount())
+                .status(game.status())
+                .playerTurn(game.playerTurn())
+                .xCells(game.board().xCellBytes())
+                .oCells(game.board().oCellBytes())
+                .build();
+    }
+
+    private List<UUID> insertGames(List<GamePlayers> players) {
+        List<GameEntity> games = new ArrayList<>(players.size());
+        for (GamePlayers gamePlayers : players) {
+            games.add(GameEntity.builder()
+                    .xPlayerId(gamePlayers.x())
+                    .oPlayerId(gamePlayers.o())
+                    .build());
         }
+
+        gameRepository.saveAll(games);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UUID> ids = new ArrayList<>(games.size());
+        for (GameEntity game : games) {
+            ids.add(game.getId());
+        }
+        return ids;
     }
 
-    private boolean hasPlayerWon(List<MoveEntity> moves, MoveEntity lastMove) {
-        PlayerSymbol player = lastMove.getPlayer();
-        int x = lastMove.getXAxis();
-        int y = lastMove.getYAxis();
+    /**
+     * Replays the moves after the latest snapshot of a hot game, or reads the final state
+     * of an archived one.
+     */
+    private GameDto loadGame(UUID gameId) {
+        if (moveWriter.hasPending(gameId)) {
+            moveWriter.flush();
+        }
 
-        List<MoveEntity> playerMoves = moves.stream()
-                .filter(m -> m.getPlayer() == player)
-                .toList();
+        Optional<GameDto> snapshot = gameRepository.findStateById(gameId);
+        GameDto game;
+        if (snapshot.isPresent()) {
+            game = snapshot.get();
+            // Nothing is played after a terminal snapshot, e.g. a move racing abandonment
+            if (game.status() == GameStatus.IN_PROGRESS) {
+                for (MoveDto move : moveRepository.findByGameIdAndSeqGreaterThanOrderBySeqAsc(gameId, game.board().moveCount())) {
+                    game = game.withMove(move.xAxis(), move.yAxis(), move.player());
+                }
+            }
+        } else {
+            game = gameArchiveRepository.findStateById(gameId)
+                    .orElseThrow(() -> new GameNotFoundException(gameId));
+        }
 
-        boolean rowWin = playerMoves.stream().filter(m -> m.getXAxis() == x).count() == 3;
+        gameStateCache.putLoaded(game);
+        idleGameReaper.watch(game);
+        return game;
+    }
 
-        boolean colWin = playerMoves.stream().filter(m -> m.getYAxis() == y).count() == 3;
+    private void validateGameState(GameDto game, MakeMoveCommand command) {
+        long start = System.nanoTime();
+        try {
+            checkMove(game, command);
+        } finally {
+            gameMetrics.recordValidation(start);
+        }
+    }
 
-        boolean isOnMainDiagonal = x == y;
-        boolean mainDiagonalWin = isOnMainDiagonal &&
-                playerMoves.stream().filter(m -> m.getXAxis() == m.getYAxis()).count() == 3;
+    private void checkMove(GameDto game, MakeMoveCommand command) {
+        if (game.status() != GameStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Game already finished");
+        }
 
-        boolean isOnAntiDiagonal = x + y == 2;
-        boolean antiDiagonalWin = isOnAntiDiagonal &&
-                playerMoves.stream().filter(m -> m.getXAxis() + m.getYAxis() == 2).count() == 3;
+        if (command.player() != game.playerTurn()) {
+            throw new IllegalArgumentException("It's not your turn");
+        }
 
-        return rowWin || colWin || mainDiagonalWin || antiDiagonalWin;
+        if (!game.board().isWithinBounds(command.x(), command.y())) {
+            throw new IllegalArgumentException("Move position is out of bounds");
+        }
+
+        if (game.board().isOccupied(command.x(), command.y())) {
+            throw new IllegalArgumentException("This position is already taken");
+        }
     }
 
-    private PlayerSymbol nextPlayer(PlayerSymbol current) {
-        return current == PlayerSymbol.X ? PlayerSymbol.O : PlayerSymbol.X;
+    /**
+     * A batch played in memory: the resulting state, the moves and events to save, and
+     * the reason each rejected command was refused, or null.
+     */
+    private record PlayedMoves(GameDto game, List<MoveEntity> acceptedMoves, List<MoveMadeEvent> events,
+                               List<RuntimeException> rejections) {
+    }
+
+    /**
+     * State after a batch, with the reason each rejected command was refused, or null.
+     */
+    private record AppliedMoves(GameDto game, List<RuntimeException> rejections) {
+
+        MoveBatchDto toBatchDto() {
+            return new MoveBatchDto(game, rejections.stream()
+                    .map(rejection -> rejection != null ? rejection.getMessage() : null)
+                    .toList());
+        }
     }
 }
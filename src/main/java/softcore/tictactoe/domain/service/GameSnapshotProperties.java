@@ -0,0 +1,9 @@
+package softcore.tictactoe.domain.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "tictactoe.snapshots")
+public record GameSnapshotProperties(
+        int interval
+) {
+}
@@ -0,0 +1,60 @@
+package softcore.tictactoe.domain.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.domain.event.GameFinishedEvent;
+import softcore.tictactoe.domain.leaderboard.Leaderboard;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.dto.PlayerStatsDto;
+import softcore.tictactoe.persistance.repository.PlayerStatsRepository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class PlayerStatsService {
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final Leaderboard leaderboard;
+
+    /**
+     * Counts the result in the transaction of the finishing move, so a move rolled back
+     * on conflict is not counted; in write-behind mode that is the writer's flush. The
+     * leaderboard only sees committed totals. Abandoned games and games a player played
+     * against themselves do not count.
+     */
+    @EventListener
+    @Transactional
+    public void onGameFinished(GameFinishedEvent event) {
+        GamePlayers players = event.players();
+        if (event.status() == GameStatus.ABANDONED || Objects.equals(players.x(), players.o())) {
+            return;
+        }
+
+        List<PlayerStatsDto> updated = playerStatsRepository.recordResult(players, event.status());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                updated.forEach(leaderboard::offer);
+            }
+        });
+    }
+
+    public Optional<PlayerStatsDto> getStats(String playerId) {
+        return playerStatsRepository.findById(playerId);
+    }
+
+    public List<PlayerStatsDto> getLeaderboard(int limit) {
+        if (limit < 1 || limit > leaderboard.size()) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + leaderboard.size());
+        }
+        return leaderboard.top(limit);
+    }
+}
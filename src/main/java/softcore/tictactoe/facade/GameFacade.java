@@ -1,31 +1,181 @@
 package softcore.tictactoe.facade;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import softcore.tictactoe.api.model.BatchMoveResponse;
+import softcore.tictactoe.api.model.CompactGameResponse;
 import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.api.model.GameMoveRequest;
 import softcore.tictactoe.api.model.MakeMoveCommand;
+import softcore.tictactoe.api.stream.GameChangeWaiters;
+import softcore.tictactoe.api.stream.GameEventBroadcaster;
+import softcore.tictactoe.api.stream.GameEventProperties;
+import softcore.tictactoe.common.enums.GameMode;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.common.exception.GameNotFoundException;
+import softcore.tictactoe.domain.metrics.GameMetrics;
 import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.dto.MoveBatchDto;
 import softcore.tictactoe.domain.service.GameService;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class GameFacade {
 
+    private static final int DEFAULT_WIN_LENGTH = 5;
+    private static final Duration MIN_POLL_WAIT = Duration.ofSeconds(1);
+
     private final GameService gameService;
+    private final GameEventBroadcaster gameEventBroadcaster;
+    private final GameMetrics gameMetrics;
+    private final GameChangeWaiters gameChangeWaiters;
+    private final GameEventProperties gameEventProperties;
+
+    /**
+     * Without an explicit win length, boards larger than 5x5 are played five in a row.
+     */
+    public GameDto createNewGame(GameMode mode, PlayerSymbol player, int size, Integer winLength, GamePlayers players) {
+        PlayerSymbol aiPlayer = null;
+        if (mode == GameMode.VS_AI) {
+            aiPlayer = player == PlayerSymbol.X ? PlayerSymbol.O : PlayerSymbol.X;
+        }
+        int length = winLength != null ? winLength : Math.min(size, DEFAULT_WIN_LENGTH);
+        return gameService.createNewGame(size, length, aiPlayer, players);
+    }
+
+    public void createNewGames(int count, Consumer<List<UUID>> onBatchCreated) {
+        gameService.createNewGames(count, onBatchCreated);
+    }
+
+    public void requireValidGameCount(int count) {
+        gameService.requireValidGameCount(count);
+    }
+
+    public CompletableFuture<GameDetailsResponse> makeMove(MakeMoveCommand command) {
+        return gameService.submitMove(command).thenApply(this::toResponse);
+    }
+
+    public CompletableFuture<CompactGameResponse> makeCompactMove(MakeMoveCommand command) {
+        return gameService.submitMove(command).thenApply(CompactGameResponse::new);
+    }
+
+    public BatchMoveResponse makeMoves(UUID gameId, List<MakeMoveCommand> commands) {
+        MoveBatchDto batch = gameService.makeMoves(gameId, commands);
+        return BatchMoveResponse.from(batch, IntStream.range(0, commands.size()).boxed().toList());
+    }
+
+    /**
+     * Applies the moves game by game. The whole request is refused up front if it is too
+     * large or an entry names no game; after that, a game whose moves fail only rejects
+     * its own entries.
+     */
+    public List<BatchMoveResponse> makeMoves(List<GameMoveRequest> requests) {
+        gameService.requireValidMoveCount(requests.size());
+        Map<UUID, List<Integer>> indexesByGame = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            GameMoveRequest request = requests.get(i);
+            if (request == null || request.gameId() == null) {
+                throw new IllegalArgumentException("Move " + i + " names no game");
+            }
+            indexesByGame.computeIfAbsent(request.gameId(), id -> new ArrayList<>()).add(i);
+        }
 
-    public GameDto createNewGame() {
-        return gameService.createNewGame();
+        List<BatchMoveResponse> responses = new ArrayList<>(indexesByGame.size());
+        indexesByGame.forEach((gameId, indexes) -> {
+            List<MakeMoveCommand> commands = indexes.stream()
+                    .map(requests::get)
+                    .map(request -> new MakeMoveCommand(gameId, request.x(), request.y(), request.player()))
+                    .toList();
+            try {
+                responses.add(BatchMoveResponse.from(gameService.makeMoves(gameId, commands), indexes));
+            } catch (GameNotFoundException | IllegalStateException | IllegalArgumentException e) {
+                responses.add(BatchMoveResponse.rejected(gameId, indexes, e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Moves of game {} failed", gameId, e);
+                responses.add(BatchMoveResponse.rejected(gameId, indexes, "Moves could not be applied"));
+            }
+        });
+        return responses;
     }
 
-    public GameDetailsResponse makeMove(MakeMoveCommand command) {
-        GameDto game = gameService.makeMove(command);
-        return GameDetailsResponse.from(game);
+    public SseEmitter subscribe(UUID gameId) {
+        return gameEventBroadcaster.subscribe(gameId, () -> getGameDetails(gameId));
     }
 
     public GameDetailsResponse getGameDetails(UUID gameId) {
         GameDto game = gameService.getGame(gameId);
-        return GameDetailsResponse.from(game);
+        return toResponse(game);
+    }
+
+    public GameDto getGame(UUID gameId) {
+        return gameService.getGame(gameId);
+    }
+
+    public GameDetailsResponse getGameDetails(GameDto game) {
+        return toResponse(game);
+    }
+
+    /**
+     * Answers right away unless {@code ifNoneMatch} names the current version; then holds
+     * the request until the game changes, or answers 304 after {@code wait}, clamped to
+     * between one second and max-poll-wait. A timeout of zero would never expire.
+     */
+    public DeferredResult<ResponseEntity<GameDetailsResponse>> awaitGameDetails(
+            UUID gameId, String ifNoneMatch, Duration wait) {
+        Duration timeout = wait.compareTo(MIN_POLL_WAIT) < 0 ? MIN_POLL_WAIT
+                : wait.compareTo(gameEventProperties.maxPollWait()) < 0 ? wait : gameEventProperties.maxPollWait();
+        DeferredResult<ResponseEntity<GameDetailsResponse>> result = new DeferredResult<>(timeout.toMillis());
+
+        GameDto game = gameService.getGame(gameId);
+        String version = game.version();
+        if (ifNoneMatch == null || ETag.parse(ifNoneMatch).stream().noneMatch(tag -> tag.isWildcard() || tag.tag().equals(version))) {
+            result.setResult(detailsWithVersion(game));
+            return result;
+        }
+
+        Runnable onChange = new Runnable() {
+            @Override
+            public void run() {
+                gameChangeWaiters.await(gameId, this);
+                GameDto current = gameService.getGame(gameId);
+                if (!current.version().equals(version)) {
+                    gameChangeWaiters.remove(gameId, this);
+                    result.setResult(detailsWithVersion(current));
+                }
+            }
+        };
+        result.onTimeout(() -> result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build()));
+        result.onCompletion(() -> gameChangeWaiters.remove(gameId, onChange));
+        onChange.run();
+        return result;
+    }
+
+    private ResponseEntity<GameDetailsResponse> detailsWithVersion(GameDto game) {
+        return ResponseEntity.ok().eTag(game.version()).body(toResponse(game));
+    }
+
+    private GameDetailsResponse toResponse(GameDto game) {
+        long start = System.nanoTime();
+        GameDetailsResponse response = GameDetailsResponse.from(game);
+        gameMetrics.recordResponseMapping(start);
+        return response;
     }
 }
@@ -0,0 +1,104 @@
+package softcore.tictactoe.persistance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Finished games moved out of game, move and game_snapshot. An archived game keeps its
+ * final state in one row, so reading it needs no replay.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameArchiveRepository {
+
+    /** Only a game's latest snapshot counts, so each game is selected at most once. */
+    private static final String SELECT_FINISHED = """
+            SELECT g.id
+              FROM game g
+              JOIN game_snapshot s ON s.game_id = g.id
+             WHERE s.status <> 'IN_PROGRESS' AND s.created_at < ?
+               AND NOT EXISTS (SELECT 1 FROM game_snapshot l WHERE l.game_id = s.game_id AND l.seq > s.seq)
+             ORDER BY s.created_at
+             LIMIT ?
+               FOR UPDATE OF g SKIP LOCKED
+            """;
+
+    private static final String ARCHIVE_GAMES = """
+            INSERT INTO game_archive (id, ai_player, board_size, win_length, x_player_id, o_player_id,
+                                      status, player_turn, x_cells, o_cells, created_at, finished_at, archived_at)
+            SELECT g.id, g.ai_player, g.board_size, g.win_length, g.x_player_id, g.o_player_id,
+                   s.status, s.player_turn, s.x_cells, s.o_cells, g.created_at, s.created_at, now()
+              FROM game g
+              JOIN game_snapshot s ON s.game_id = g.id AND s.status <> 'IN_PROGRESS'
+             WHERE g.id = ANY (?)
+               AND NOT EXISTS (SELECT 1 FROM game_snapshot l WHERE l.game_id = s.game_id AND l.seq > s.seq)
+            """;
+
+    private static final String ARCHIVE_MOVES = """
+            INSERT INTO move_archive (id, game_id, seq, player, x_axis, y_axis, created_at)
+            SELECT id, game_id, seq, player, x_axis, y_axis, created_at
+              FROM move
+             WHERE game_id = ANY (?)
+            """;
+
+    private static final String DELETE_MOVES = "DELETE FROM move WHERE game_id = ANY (?)";
+    private static final String DELETE_SNAPSHOTS = "DELETE FROM game_snapshot WHERE game_id = ANY (?)";
+    private static final String DELETE_GAMES = "DELETE FROM game WHERE id = ANY (?)";
+
+    private static final String SELECT_STATE = """
+            SELECT id, ai_player, board_size, win_length, x_player_id, o_player_id,
+                   status, player_turn, x_cells, o_cells
+              FROM game_archive
+             WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Archives up to {@code limit} games that finished before {@code cutoff}. Must run in
+     * a transaction; rows locked by a concurrent run are skipped.
+     */
+    public int archiveFinishedBefore(LocalDateTime cutoff, int limit) {
+        List<UUID> ids = jdbcTemplate.queryForList(SELECT_FINISHED, UUID.class, Timestamp.valueOf(cutoff), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        PreparedStatementSetter gameIds = statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids.toArray()));
+        jdbcTemplate.update(ARCHIVE_GAMES, gameIds);
+        jdbcTemplate.update(ARCHIVE_MOVES, gameIds);
+        jdbcTemplate.update(DELETE_MOVES, gameIds);
+        jdbcTemplate.update(DELETE_SNAPSHOTS, gameIds);
+        jdbcTemplate.update(DELETE_GAMES, gameIds);
+        return ids.size();
+    }
+
+    public Optional<GameDto> findStateById(UUID id) {
+        return jdbcTemplate.query(SELECT_STATE, (rs, rowNum) -> {
+            String aiPlayer = rs.getString("ai_player");
+            return new GameDto(
+                    rs.getObject("id", UUID.class),
+                    aiPlayer != null ? PlayerSymbol.valueOf(aiPlayer) : null,
+                    rs.getInt("board_size"),
+                    rs.getInt("win_length"),
+                    rs.getString("x_player_id"),
+                    rs.getString("o_player_id"),
+                    GameStatus.valueOf(rs.getString("status")),
+                    PlayerSymbol.valueOf(rs.getString("player_turn")),
+                    rs.getBytes("x_cells"),
+                    rs.getBytes("o_cells"));
+        }, id).stream().findFirst();
+    }
+}
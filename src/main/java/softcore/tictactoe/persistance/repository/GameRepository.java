@@ -1,9 +1,28 @@
 package softcore.tictactoe.persistance.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import softcore.tictactoe.domain.model.dto.GameDto;
 import softcore.tictactoe.domain.model.entity.GameEntity;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface GameRepository extends JpaRepository<GameEntity, UUID> {
+
+    /**
+     * State as of the latest snapshot; moves with a higher seq still have to be applied.
+     */
+    @Query("""
+            select new softcore.tictactoe.domain.model.dto.GameDto(
+                       g.id, g.aiPlayer, g.boardSize, g.winLength, g.xPlayerId, g.oPlayerId,
+                       s.status, s.playerTurn, s.xCells, s.oCells)
+              from GameEntity g
+              left join GameSnapshotEntity s
+                on s.game = g
+               and s.seq = (select max(latest.seq) from GameSnapshotEntity latest where latest.game = g)
+             where g.id = :id
+            """)
+    Optional<GameDto> findStateById(@Param("id") UUID id);
 }
@@ -0,0 +1,202 @@
+package softcore.tictactoe.persistance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
+import softcore.tictactoe.persistance.writebehind.PendingWrite;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+@Repository
+@RequiredArgsConstructor
+public class GameSnapshotBatchRepository {
+
+    private static final String INSERT_SNAPSHOT = """
+            INSERT INTO game_snapshot (id, game_id, seq, status, player_turn, x_cells, o_cells, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * One ABANDONED snapshot per game at its last known seq, unless a later move exists.
+     * An interval snapshot already stored at that seq is marked abandoned instead.
+     */
+    private static final String UPSERT_ABANDONED = """
+            INSERT INTO game_snapshot (id, game_id, seq, status, player_turn, x_cells, o_cells, created_at)
+            SELECT gen_random_uuid(), a.game_id, a.seq, 'ABANDONED', a.player_turn, a.x_cells, a.o_cells, ?
+              FROM unnest(?::uuid[], ?::int[], ?::varchar[], ?::bytea[], ?::bytea[])
+                   AS a(game_id, seq, player_turn, x_cells, o_cells)
+             WHERE NOT EXISTS (SELECT 1 FROM move m WHERE m.game_id = a.game_id AND m.seq > a.seq)
+            ON CONFLICT (game_id, seq) DO UPDATE
+               SET status = EXCLUDED.status, created_at = EXCLUDED.created_at
+             WHERE game_snapshot.status = 'IN_PROGRESS'
+            RETURNING game_id
+            """;
+
+    /**
+     * Waits for moves of these games still in flight; a move arriving later waits for the
+     * abandoning transaction in {@link #requireInProgress} and is then rejected.
+     */
+    private static final String LOCK_GAMES = "SELECT id FROM game WHERE id = ANY (?) ORDER BY id FOR UPDATE";
+
+    private static final String KEY_SHARE_GAMES = "SELECT id FROM game WHERE id = ANY (?) ORDER BY id FOR KEY SHARE";
+
+    private static final String SELECT_OVER = """
+            SELECT game_id FROM game_snapshot WHERE game_id = ANY (?) AND status <> 'IN_PROGRESS' LIMIT 1
+            """;
+
+    /**
+     * Games whose latest snapshot is not terminal, with that snapshot, the moves played
+     * after it and the time of their last move, or of their creation while they have none.
+     */
+    private static final String SELECT_IN_PROGRESS = """
+            SELECT g.id, g.ai_player, g.board_size, g.win_length, g.x_player_id, g.o_player_id,
+                   s.status, s.player_turn, s.x_cells, s.o_cells,
+                   later.players, later.x_axes, later.y_axes,
+                   COALESCE(last_move.created_at, g.created_at) AS last_move_at
+              FROM game g
+              LEFT JOIN LATERAL (SELECT seq, status, player_turn, x_cells, o_cells
+                                   FROM game_snapshot
+                                  WHERE game_id = g.id
+                                  ORDER BY seq DESC LIMIT 1) s ON true
+              LEFT JOIN LATERAL (SELECT array_agg(player ORDER BY seq) AS players,
+                                        array_agg(x_axis ORDER BY seq) AS x_axes,
+                                        array_agg(y_axis ORDER BY seq) AS y_axes
+                                   FROM move
+                                  WHERE game_id = g.id AND seq > COALESCE(s.seq, 0)) later ON true
+              LEFT JOIN LATERAL (SELECT created_at
+                                   FROM move
+                                  WHERE game_id = g.id
+                                  ORDER BY seq DESC LIMIT 1) last_move ON true
+             WHERE COALESCE(s.status, 'IN_PROGRESS') = 'IN_PROGRESS'
+            """;
+
+    private static final int IN_PROGRESS_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PendingWrite> writes) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            GameSnapshotEntity snapshot = write.snapshot();
+            if (snapshot != null) {
+                rows.add(new Object[] {
+                        UUID.randomUUID(), write.gameId(), snapshot.getSeq(), snapshot.getStatus().name(),
+                        snapshot.getPlayerTurn().name(), snapshot.getXCells(), snapshot.getOCells(), createdAt
+                });
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, rows);
+        }
+    }
+
+    /**
+     * Stores the given in-progress states as ABANDONED and returns the ids of the games
+     * actually abandoned; a game moved in since is left alone. Must run in a transaction,
+     * which holds the game rows locked until it commits.
+     */
+    public List<UUID> insertAbandoned(List<GameDto> games) {
+        Object[] ids = new Object[games.size()];
+        Object[] seqs = new Object[games.size()];
+        Object[] playerTurns = new Object[games.size()];
+        byte[][] xCells = new byte[games.size()][];
+        byte[][] oCells = new byte[games.size()][];
+        for (int i = 0; i < games.size(); i++) {
+            GameDto game = games.get(i);
+            ids[i] = game.id();
+            seqs[i] = game.board().moveCount();
+            playerTurns[i] = game.playerTurn().name();
+            xCells[i] = game.board().xCellBytes();
+            oCells[i] = game.board().oCellBytes();
+        }
+
+        jdbcTemplate.query(LOCK_GAMES, (PreparedStatementSetter) statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("uuid", ids)), rs -> null);
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(UPSERT_ABANDONED, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setTimestamp(1, createdAt);
+            statement.setArray(2, connection.createArrayOf("uuid", ids));
+            statement.setArray(3, connection.createArrayOf("int4", seqs));
+            statement.setArray(4, connection.createArrayOf("varchar", playerTurns));
+            statement.setArray(5, connection.createArrayOf("bytea", xCells));
+            statement.setArray(6, connection.createArrayOf("bytea", oCells));
+        }, (rs, rowNum) -> rs.getObject("game_id", UUID.class));
+    }
+
+    /**
+     * Fails if any of these games is already over, e.g. abandoned while its moves were
+     * played. Must run in the transaction inserting the moves: the lock waits for a reaper
+     * abandoning one of them, and the check then sees what it committed.
+     */
+    public void requireInProgress(Collection<UUID> gameIds) {
+        PreparedStatementSetter ids = statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("uuid", gameIds.toArray()));
+        jdbcTemplate.query(KEY_SHARE_GAMES, ids, rs -> null);
+
+        List<UUID> over = jdbcTemplate.query(SELECT_OVER, ids, (rs, rowNum) -> rs.getObject("game_id", UUID.class));
+        if (!over.isEmpty()) {
+            throw new DataIntegrityViolationException("Game " + over.getFirst() + " is already over");
+        }
+    }
+
+    /**
+     * Streams the state of every game in progress with the time of its last move. Must
+     * run in a transaction, or the driver reads all rows at once.
+     */
+    public void forEachInProgress(BiConsumer<GameDto, LocalDateTime> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_IN_PROGRESS);
+            statement.setFetchSize(IN_PROGRESS_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(inProgressState(rs), rs.getTimestamp("last_move_at").toLocalDateTime()));
+    }
+
+    private static GameDto inProgressState(ResultSet rs) throws SQLException {
+        String aiPlayer = rs.getString("ai_player");
+        String status = rs.getString("status");
+        String playerTurn = rs.getString("player_turn");
+        GameDto game = new GameDto(
+                rs.getObject("id", UUID.class),
+                aiPlayer != null ? PlayerSymbol.valueOf(aiPlayer) : null,
+                rs.getInt("board_size"), rs.getInt("win_length"),
+                rs.getString("x_player_id"), rs.getString("o_player_id"),
+                status != null ? GameStatus.valueOf(status) : null,
+                playerTurn != null ? PlayerSymbol.valueOf(playerTurn) : null,
+                rs.getBytes("x_cells"), rs.getBytes("o_cells"));
+
+        Array players = rs.getArray("players");
+        if (players == null) {
+            return game;
+        }
+        String[] symbols = (String[]) players.getArray();
+        Integer[] xAxes = (Integer[]) rs.getArray("x_axes").getArray();
+        Integer[] yAxes = (Integer[]) rs.getArray("y_axes").getArray();
+        for (int i = 0; i < symbols.length; i++) {
+            game = game.withMove(xAxes[i], yAxes[i], PlayerSymbol.valueOf(symbols[i]));
+        }
+        return game;
+    }
+}
@@ -0,0 +1,9 @@
+package softcore.tictactoe.persistance.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
+
+import java.util.UUID;
+
+public interface GameSnapshotRepository extends JpaRepository<GameSnapshotEntity, UUID> {
+}
@@ -0,0 +1,58 @@
+package softcore.tictactoe.persistance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import softcore.tictactoe.domain.model.entity.MoveEntity;
+import softcore.tictactoe.persistance.writebehind.PendingWrite;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class MoveBatchRepository {
+
+    private static final String INSERT_MOVE = """
+            INSERT INTO move (id, game_id, seq, player, x_axis, y_axis, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(UUID gameId, List<MoveEntity> moves) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_MOVE, moves, moves.size(), (statement, move) -> {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setObject(2, gameId);
+            statement.setInt(3, move.getSeq());
+            statement.setString(4, move.getPlayer().name());
+            statement.setInt(5, move.getXAxis());
+            statement.setInt(6, move.getYAxis());
+            statement.setTimestamp(7, createdAt);
+        });
+    }
+
+    /**
+     * Inserts the moves of many games as one JDBC batch.
+     */
+    public void insertAll(List<PendingWrite> writes) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            for (MoveEntity move : write.moves()) {
+                rows.add(new Object[] {
+                        UUID.randomUUID(), write.gameId(), move.getSeq(), move.getPlayer().name(),
+                        move.getXAxis(), move.getYAxis(), createdAt
+                });
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MOVE, rows);
+    }
+}
@@ -0,0 +1,102 @@
+package softcore.tictactoe.persistance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.dto.PlayerStatsDto;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-player totals, one row per player, updated in place as each game finishes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlayerStatsRepository {
+
+    /**
+     * Adds one result per player; current_streak counts consecutive wins. Rows are locked
+     * in player id order, so two games finishing for the same players cannot deadlock.
+     */
+    private static final String UPSERT_RESULTS = """
+            INSERT INTO player_stats AS p (player_id, wins, losses, draws, current_streak, best_streak, updated_at)
+            SELECT r.player_id, r.wins, r.losses, r.draws, r.wins, r.wins, ?
+              FROM unnest(?::varchar[], ?::int[], ?::int[], ?::int[]) AS r(player_id, wins, losses, draws)
+             ORDER BY r.player_id
+            ON CONFLICT (player_id) DO UPDATE
+               SET wins = p.wins + EXCLUDED.wins,
+                   losses = p.losses + EXCLUDED.losses,
+                   draws = p.draws + EXCLUDED.draws,
+                   current_streak = CASE WHEN EXCLUDED.wins > 0 THEN p.current_streak + 1 ELSE 0 END,
+                   best_streak = GREATEST(p.best_streak, CASE WHEN EXCLUDED.wins > 0 THEN p.current_streak + 1 ELSE 0 END),
+                   updated_at = EXCLUDED.updated_at
+            RETURNING player_id, wins, losses, draws, current_streak, best_streak
+            """;
+
+    private static final String SELECT_COLUMNS =
+            "SELECT player_id, wins, losses, draws, current_streak, best_streak FROM player_stats";
+
+    private static final RowMapper<PlayerStatsDto> ROW_MAPPER = (rs, rowNum) -> new PlayerStatsDto(
+            rs.getString("player_id"),
+            rs.getInt("wins"),
+            rs.getInt("losses"),
+            rs.getInt("draws"),
+            rs.getInt("current_streak"),
+            rs.getInt("best_streak"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Counts a finished game for each identified player and returns their updated rows.
+     */
+    public List<PlayerStatsDto> recordResult(GamePlayers players, GameStatus status) {
+        List<Object> playerIds = new ArrayList<>(2);
+        List<Object> wins = new ArrayList<>(2);
+        List<Object> losses = new ArrayList<>(2);
+        List<Object> draws = new ArrayList<>(2);
+        for (PlayerSymbol player : PlayerSymbol.values()) {
+            String playerId = players.idOf(player);
+            if (playerId == null) {
+                continue;
+            }
+            GameStatus win = player == PlayerSymbol.X ? GameStatus.X_WINS : GameStatus.O_WINS;
+            playerIds.add(playerId);
+            wins.add(status == win ? 1 : 0);
+            losses.add(status != win && status != GameStatus.DRAW ? 1 : 0);
+            draws.add(status == GameStatus.DRAW ? 1 : 0);
+        }
+        if (playerIds.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(UPSERT_RESULTS, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setTimestamp(1, updatedAt);
+            statement.setArray(2, connection.createArrayOf("varchar", playerIds.toArray()));
+            statement.setArray(3, connection.createArrayOf("int4", wins.toArray()));
+            statement.setArray(4, connection.createArrayOf("int4", losses.toArray()));
+            statement.setArray(5, connection.createArrayOf("int4", draws.toArray()));
+        }, ROW_MAPPER);
+    }
+
+    public Optional<PlayerStatsDto> findById(String playerId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + " WHERE player_id = ?", ROW_MAPPER, playerId).stream().findFirst();
+    }
+
+    /**
+     * Read along ix_player_stats_wins, so only {@code limit} rows are touched.
+     */
+    public List<PlayerStatsDto> findTopByWins(int limit) {
+        return jdbcTemplate.query(SELECT_COLUMNS + " ORDER BY wins DESC, player_id LIMIT ?", ROW_MAPPER, limit);
+    }
+}
@@ -0,0 +1,21 @@
+package softcore.tictactoe.persistance.writebehind;
+
+import softcore.tictactoe.domain.event.GameFinishedEvent;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
+import softcore.tictactoe.domain.model.entity.MoveEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves accepted for one game in a single call, with the snapshot they made due and the
+ * event of the game finishing with them, if any. The event is published in the
+ * transaction that writes the moves.
+ */
+public record PendingWrite(
+        UUID gameId,
+        List<MoveEntity> moves,
+        GameSnapshotEntity snapshot,
+        GameFinishedEvent finished
+) {
+}
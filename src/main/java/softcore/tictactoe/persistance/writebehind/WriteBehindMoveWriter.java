@@ -0,0 +1,312 @@
+package softcore.tictactoe.persistance.writebehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.reaper.GameReaperProperties;
+import softcore.tictactoe.persistance.repository.GameSnapshotBatchRepository;
+import softcore.tictactoe.persistance.repository.MoveBatchRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains moves accepted in memory to Postgres. A single worker flushes every
+ * flush-interval, or as soon as batch-size writes are queued, inserting the moves and
+ * snapshots of all queued games in one transaction. Callers wait for room in a full
+ * queue for up to offer-timeout before taking any lock, and enqueueing itself never
+ * blocks. Transient database failures are retried with backoff before a write is
+ * dropped. Once a write of a game is dropped, every later write of the game is dropped
+ * too, so no game is left with a gap in its move sequence, until the game's state has
+ * been reloaded from the database and {@link #recovered} is called. Everything still
+ * queued is flushed when the application shuts down.
+ */
+@Slf4j
+@Component
+public class WriteBehindMoveWriter implements SmartLifecycle {
+
+    private static final long CAPACITY_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final WriteBehindProperties properties;
+    private final GameReaperProperties reaperProperties;
+    private final MoveBatchRepository moveBatchRepository;
+    private final GameSnapshotBatchRepository gameSnapshotBatchRepository;
+    private final TransactionOperations transactionOperations;
+    private final GameStateCache gameStateCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final Map<UUID, Integer> pendingByGame = new ConcurrentHashMap<>();
+    /** Games with a dropped write whose state has not been reloaded since. */
+    private final Set<UUID> failedGames = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public WriteBehindMoveWriter(WriteBehindProperties properties,
+                                 GameReaperProperties reaperProperties,
+                                 MoveBatchRepository moveBatchRepository,
+                                 GameSnapshotBatchRepository gameSnapshotBatchRepository,
+                                 TransactionOperations transactionOperations,
+                                 GameStateCache gameStateCache,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry registry) {
+        this.properties = properties;
+        this.reaperProperties = reaperProperties;
+        this.moveBatchRepository = moveBatchRepository;
+        this.gameSnapshotBatchRepository = gameSnapshotBatchRepository;
+        this.transactionOperations = transactionOperations;
+        this.gameStateCache = gameStateCache;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+
+        Gauge.builder("tictactoe.writebehind.queue.size", queue, BlockingQueue::size)
+                .description("Accepted moves waiting to be written")
+                .register(registry);
+        this.dropped = Counter.builder("tictactoe.writebehind.dropped")
+                .description("Accepted moves that could not be written")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Waits up to offer-timeout for room in the queue, or rejects the move.
+     */
+    public void awaitCapacity() {
+        if (queue.remainingCapacity() > 0) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + properties.offerTimeout().toNanos();
+        LockSupport.unpark(worker);
+        while (queue.remainingCapacity() == 0) {
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Write-behind queue is full");
+            }
+            LockSupport.parkNanos(this, CAPACITY_POLL_NANOS);
+        }
+    }
+
+    /**
+     * Queues the write without blocking; callers wait for room with
+     * {@link #awaitCapacity()} first.
+     */
+    public void enqueue(PendingWrite write) {
+        if (!running) {
+            throw new IllegalStateException("Write-behind writer is not running");
+        }
+
+        pendingByGame.merge(write.gameId(), 1, Integer::sum);
+        if (!queue.offer(write)) {
+            release(write);
+            throw new IllegalStateException("Write-behind queue is full");
+        }
+
+        if (queue.size() >= properties.batchSize()) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    public boolean hasPending(UUID gameId) {
+        return pendingByGame.containsKey(gameId);
+    }
+
+    /**
+     * Whether a write of the game was dropped, so its cached state is ahead of the
+     * database and later writes of it are dropped as well.
+     */
+    public boolean isFailed(UUID gameId) {
+        return failedGames.contains(gameId);
+    }
+
+    /**
+     * Accepts writes of the game again. Only call it holding the game's lock, after its
+     * queued writes were flushed and its state was reloaded from the database.
+     */
+    public void recovered(UUID gameId) {
+        failedGames.remove(gameId);
+    }
+
+    /**
+     * Writes everything queued so far before returning.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingWrite> batch = new ArrayList<>(properties.batchSize());
+            while (queue.drainTo(batch, properties.batchSize()) > 0) {
+                write(batch);
+                batch = new ArrayList<>(properties.batchSize());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("write-behind").daemon().start(this::drainLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so no request can enqueue after the final flush.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void drainLoop() {
+        long intervalNanos = properties.flushInterval().toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            flush();
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        List<PendingWrite> writes = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            if (failedGames.contains(write.gameId())) {
+                drop(write, null);
+            } else {
+                writes.add(write);
+            }
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        RuntimeException failure = insertWithRetries(writes);
+        if (failure == null) {
+            writes.forEach(this::release);
+        } else if (isTransient(failure)) {
+            writes.forEach(write -> fail(write, failure));
+        } else {
+            // One conflicting game must not cost the others their moves
+            writes.forEach(this::writeAlone);
+        }
+    }
+
+    private void writeAlone(PendingWrite write) {
+        if (failedGames.contains(write.gameId())) {
+            drop(write, null);
+            return;
+        }
+        RuntimeException failure = insertWithRetries(List.of(write));
+        if (failure == null) {
+            release(write);
+        } else {
+            fail(write, failure);
+        }
+    }
+
+    /**
+     * Inserts the writes, retrying transient failures with exponential backoff. Returns
+     * the failure that ended the attempts, or null once the writes are committed.
+     */
+    private RuntimeException insertWithRetries(List<PendingWrite> writes) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(writes);
+                return null;
+            } catch (RuntimeException e) {
+                if (!isTransient(e) || attempt == MAX_WRITE_ATTEMPTS) {
+                    return e;
+                }
+                log.warn("Write-behind insert of {} writes failed, retrying", writes.size(), e);
+                LockSupport.parkNanos(this, RETRY_BACKOFF_NANOS << (attempt - 1));
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void fail(PendingWrite write, RuntimeException cause) {
+        failedGames.add(write.gameId());
+        drop(write, cause);
+    }
+
+    private void drop(PendingWrite write, RuntimeException cause) {
+        log.error("Dropping {} write-behind moves of game {}", write.moves().size(), write.gameId(), cause);
+        dropped.increment(write.moves().size());
+        gameStateCache.evict(write.gameId());
+        release(write);
+    }
+
+    private void insert(List<PendingWrite> writes) {
+        transactionOperations.executeWithoutResult(status -> {
+            if (reaperProperties.enabled()) {
+                gameSnapshotBatchRepository.requireInProgress(
+                        writes.stream().map(PendingWrite::gameId).distinct().toList());
+            }
+            moveBatchRepository.insertAll(writes);
+            gameSnapshotBatchRepository.insertAll(writes);
+            // Results are counted only if the finishing moves are written with them
+            for (PendingWrite write : writes) {
+                if (write.finished() != null) {
+                    eventPublisher.publishEvent(write.finished());
+                }
+            }
+        });
+    }
+
+    private void release(PendingWrite write) {
+        pendingByGame.computeIfPresent(write.gameId(), (gameId, count) -> count > 1 ? count - 1 : null);
+    }
+}
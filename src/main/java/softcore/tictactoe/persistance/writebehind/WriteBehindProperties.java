@@ -0,0 +1,16 @@
+package softcore.tictactoe.persistance.writebehind;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.write-behind")
+public record WriteBehindProperties(
+        boolean enabled,
+        Duration flushInterval,
+        int batchSize,
+        int queueCapacity,
+        Duration offerTimeout,
+        Duration lockTimeout
+) {
+}
@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS game_archive (
+                        id UUID PRIMARY KEY,
+                        ai_player VARCHAR(5),
+                        board_size SMALLINT NOT NULL,
+                        win_length SMALLINT NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        player_turn VARCHAR(5) NOT NULL,
+                        x_cells BYTEA NOT NULL,
+                        o_cells BYTEA NOT NULL,
+                        created_at TIMESTAMP NOT NULL,
+                        finished_at TIMESTAMP NOT NULL,
+                        archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS move_archive (
+                        id UUID PRIMARY KEY,
+                        game_id UUID NOT NULL REFERENCES game_archive (id),
+                        seq INT NOT NULL,
+                        player VARCHAR(5) NOT NULL,
+                        x_axis INT NOT NULL,
+                        y_axis INT NOT NULL,
+                        created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_move_archive_game_id_seq ON move_archive (game_id, seq);
+
+-- Only the terminal snapshots, which is what the archive job scans
+CREATE INDEX IF NOT EXISTS ix_game_snapshot_finished_created_at
+    ON game_snapshot (created_at) WHERE status <> 'IN_PROGRESS';
@@ -0,0 +1,18 @@
+ALTER TABLE game ADD COLUMN IF NOT EXISTS x_player_id VARCHAR(64);
+ALTER TABLE game ADD COLUMN IF NOT EXISTS o_player_id VARCHAR(64);
+
+ALTER TABLE game_archive ADD COLUMN IF NOT EXISTS x_player_id VARCHAR(64);
+ALTER TABLE game_archive ADD COLUMN IF NOT EXISTS o_player_id VARCHAR(64);
+
+-- Kept up to date as games finish, so stats never aggregate over game history
+CREATE TABLE IF NOT EXISTS player_stats (
+                        player_id VARCHAR(64) PRIMARY KEY,
+                        wins INT NOT NULL,
+                        losses INT NOT NULL,
+                        draws INT NOT NULL,
+                        current_streak INT NOT NULL,
+                        best_streak INT NOT NULL,
+                        updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_player_stats_wins ON player_stats (wins DESC, player_id);
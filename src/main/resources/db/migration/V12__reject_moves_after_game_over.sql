@@ -0,0 +1,17 @@
+-- A move appended after the game was abandoned (or otherwise ended) must not commit.
+-- The key-share lock waits for the reaper, which holds the game row FOR UPDATE while
+-- it abandons the game, and the check below then sees the snapshot it wrote.
+CREATE OR REPLACE FUNCTION reject_move_after_game_over() RETURNS trigger AS $$
+BEGIN
+    PERFORM 1 FROM game WHERE id = NEW.game_id FOR KEY SHARE;
+    IF EXISTS (SELECT 1 FROM game_snapshot WHERE game_id = NEW.game_id AND status <> 'IN_PROGRESS') THEN
+        RAISE EXCEPTION 'Game % is already over', NEW.game_id USING ERRCODE = 'check_violation';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tr_move_reject_after_game_over ON move;
+CREATE TRIGGER tr_move_reject_after_game_over
+    BEFORE INSERT ON move
+    FOR EACH ROW EXECUTE FUNCTION reject_move_after_game_over();
@@ -0,0 +1,4 @@
+-- The writers check once per transaction that their games are still in progress
+-- (GameSnapshotBatchRepository.requireInProgress), instead of once per inserted move.
+DROP TRIGGER IF EXISTS tr_move_reject_after_game_over ON move;
+DROP FUNCTION IF EXISTS reject_move_after_game_over();
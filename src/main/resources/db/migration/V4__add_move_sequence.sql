@@ -0,0 +1,38 @@
+-- Runs outside a transaction (see the .conf file): the backfill commits per batch of
+-- games instead of rewriting the whole table under one long-held lock.
+ALTER TABLE move ADD COLUMN IF NOT EXISTS seq INT;
+
+-- Lets each batch find its games and number their moves without scanning the table;
+-- V5 drops it once the (game_id, seq) index replaces it
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_move_game_id_created_at ON move (game_id, created_at);
+
+-- Walks the games in id order, 1000 per batch, so no batch rescans finished ones
+DO $$
+DECLARE
+    last_game UUID := '00000000-0000-0000-0000-000000000000';
+    next_game UUID;
+BEGIN
+    LOOP
+        SELECT game_id INTO next_game
+          FROM (SELECT DISTINCT game_id FROM move WHERE game_id > last_game ORDER BY game_id LIMIT 1000) batch
+         ORDER BY game_id DESC
+         LIMIT 1;
+        EXIT WHEN next_game IS NULL;
+
+        UPDATE move m
+           SET seq = ordered.seq
+          FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY game_id ORDER BY created_at, id) AS seq
+                  FROM move
+                 WHERE game_id > last_game AND game_id <= next_game) ordered
+         WHERE m.id = ordered.id AND m.seq IS NULL;
+        COMMIT;
+        last_game := next_game;
+    END LOOP;
+END;
+$$;
+
+-- A validated CHECK lets SET NOT NULL skip its full-table scan under an exclusive lock
+ALTER TABLE move ADD CONSTRAINT ck_move_seq_not_null CHECK (seq IS NOT NULL) NOT VALID;
+ALTER TABLE move VALIDATE CONSTRAINT ck_move_seq_not_null;
+ALTER TABLE move ALTER COLUMN seq SET NOT NULL;
+ALTER TABLE move DROP CONSTRAINT ck_move_seq_not_null;
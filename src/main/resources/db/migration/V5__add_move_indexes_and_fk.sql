@@ -0,0 +1,9 @@
+-- Runs outside a transaction (see the .conf file), as CREATE INDEX CONCURRENTLY requires.
+-- Neither the index build nor the FK validation blocks writes to move.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_move_game_id_seq ON move (game_id, seq);
+-- Only needed by the V4 backfill
+DROP INDEX CONCURRENTLY IF EXISTS ix_move_game_id_created_at;
+
+ALTER TABLE move
+    ADD CONSTRAINT fk_move_game FOREIGN KEY (game_id) REFERENCES game (id) NOT VALID;
+ALTER TABLE move VALIDATE CONSTRAINT fk_move_game;
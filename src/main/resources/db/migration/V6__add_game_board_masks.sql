@@ -0,0 +1,12 @@
+ALTER TABLE game ADD COLUMN IF NOT EXISTS x_mask SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE game ADD COLUMN IF NOT EXISTS o_mask SMALLINT NOT NULL DEFAULT 0;
+
+UPDATE game g
+   SET x_mask = board.x_mask,
+       o_mask = board.o_mask
+  FROM (SELECT game_id,
+               COALESCE(SUM(1 << (x_axis * 3 + y_axis)) FILTER (WHERE player = 'X'), 0) AS x_mask,
+               COALESCE(SUM(1 << (x_axis * 3 + y_axis)) FILTER (WHERE player = 'O'), 0) AS o_mask
+          FROM move
+         GROUP BY game_id) board
+ WHERE g.id = board.game_id;
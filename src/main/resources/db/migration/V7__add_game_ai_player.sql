@@ -0,0 +1 @@
+ALTER TABLE game ADD COLUMN IF NOT EXISTS ai_player VARCHAR(5);
@@ -0,0 +1,15 @@
+ALTER TABLE game ADD COLUMN IF NOT EXISTS board_size SMALLINT NOT NULL DEFAULT 3;
+ALTER TABLE game ADD COLUMN IF NOT EXISTS win_length SMALLINT NOT NULL DEFAULT 3;
+ALTER TABLE game ADD COLUMN IF NOT EXISTS x_cells BYTEA;
+ALTER TABLE game ADD COLUMN IF NOT EXISTS o_cells BYTEA;
+
+-- Little-endian bytes of the 9-bit masks, the layout of java.util.BitSet.toByteArray()
+UPDATE game
+   SET x_cells = set_byte(set_byte('\x0000'::bytea, 0, x_mask & 255), 1, x_mask >> 8),
+       o_cells = set_byte(set_byte('\x0000'::bytea, 0, o_mask & 255), 1, o_mask >> 8);
+
+ALTER TABLE game ALTER COLUMN x_cells SET NOT NULL;
+ALTER TABLE game ALTER COLUMN o_cells SET NOT NULL;
+
+ALTER TABLE game DROP COLUMN x_mask;
+ALTER TABLE game DROP COLUMN o_mask;
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS game_snapshot (
+                        id UUID PRIMARY KEY,
+                        game_id UUID NOT NULL REFERENCES game (id),
+                        seq INT NOT NULL,
+                        status VARCHAR(20) NOT NULL,
+                        player_turn VARCHAR(5) NOT NULL,
+                        x_cells BYTEA NOT NULL,
+                        o_cells BYTEA NOT NULL,
+                        created_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_game_snapshot_game_id_seq ON game_snapshot (game_id, seq);
+
+-- Games without moves need no snapshot, their state is the empty board
+INSERT INTO game_snapshot (id, game_id, seq, status, player_turn, x_cells, o_cells, created_at)
+SELECT gen_random_uuid(), g.id, m.seq, g.status, g.player_turn, g.x_cells, g.o_cells, COALESCE(g.updated_at, g.created_at)
+  FROM game g
+  JOIN (SELECT game_id, MAX(seq) AS seq FROM move GROUP BY game_id) m ON m.game_id = g.id;
+
+ALTER TABLE game DROP COLUMN status;
+ALTER TABLE game DROP COLUMN player_turn;
+ALTER TABLE game DROP COLUMN x_cells;
+ALTER TABLE game DROP COLUMN o_cells;
+ALTER TABLE game DROP COLUMN version;
+ALTER TABLE game DROP COLUMN updated_at;
@@ -23,4 +23,13 @@ public class BaseDatabaseTest {
         registry.add("spring.datasource.username", postgresContainer::getUsername);
         registry.add("spring.datasource.password", postgresContainer::getPassword);
     }
+
+    protected static String[] sharedDatabaseArgs() {
+        return new String[] {
+                "--spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                "--spring.datasource.username=" + postgresContainer.getUsername(),
+                "--spring.datasource.password=" + postgresContainer.getPassword(),
+                "--spring.docker.compose.enabled=false"
+        };
+    }
 }
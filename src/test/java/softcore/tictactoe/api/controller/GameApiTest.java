@@ -2,25 +2,53 @@ package softcore.tictactoe.api.controller;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.api.model.BatchMoveResponse;
+import softcore.tictactoe.api.model.CompactGameResponse;
 import softcore.tictactoe.api.model.GameCreateResponse;
 import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.api.model.GameMoveRequest;
 import softcore.tictactoe.api.model.MakeMoveRequest;
+import softcore.tictactoe.api.model.MatchTicketRequest;
+import softcore.tictactoe.api.model.MatchTicketResponse;
+import softcore.tictactoe.api.model.MoveResult;
+import softcore.tictactoe.api.model.PlayerStatsResponse;
 import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.MatchStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
+@AutoConfigureObservability
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class GameApiTest extends BaseDatabaseTest {
 
@@ -64,4 +92,370 @@ class GameApiTest extends BaseDatabaseTest {
         assertThat(board[1][2]).isEqualTo("X");
         assertThat(board[2][2]).isNull();
     }
+
+    @Test
+    void shouldApplyBatchOfMovesAndReportPerMoveResults() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        List<MakeMoveRequest> moves = List.of(
+                new MakeMoveRequest(0, 0, PlayerSymbol.X),
+                new MakeMoveRequest(1, 1, PlayerSymbol.O),
+                new MakeMoveRequest(1, 1, PlayerSymbol.X),
+                new MakeMoveRequest(0, 1, PlayerSymbol.X)
+        );
+
+        // when
+        ResponseEntity<BatchMoveResponse> response = restTemplate.postForEntity(
+                "/api/games/" + gameId + "/moves", moves, BatchMoveResponse.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        BatchMoveResponse batch = response.getBody();
+        assertThat(batch).isNotNull();
+        assertThat(batch.results().stream().map(MoveResult::accepted).toList())
+                .isEqualTo(List.of(true, true, false, true));
+
+        GameDetailsResponse details = restTemplate.getForEntity(
+                "/api/games/" + gameId, GameDetailsResponse.class).getBody();
+        assertThat(details.playerTurn()).isEqualTo(PlayerSymbol.O);
+        assertThat(details.board()[0][0]).isEqualTo("X");
+        assertThat(details.board()[1][1]).isEqualTo("O");
+        assertThat(details.board()[0][1]).isEqualTo("X");
+    }
+
+    @Test
+    void shouldRejectOnlyTheMovesOfFailingGames() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        UUID unknownId = UUID.randomUUID();
+        List<GameMoveRequest> moves = List.of(
+                new GameMoveRequest(gameId, 0, 0, PlayerSymbol.X),
+                new GameMoveRequest(unknownId, 0, 0, PlayerSymbol.X)
+        );
+
+        // when
+        ResponseEntity<BatchMoveResponse[]> response = restTemplate.postForEntity(
+                "/api/games/moves", moves, BatchMoveResponse[].class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(BatchMoveResponse::gameId).containsExactly(gameId, unknownId);
+        assertThat(response.getBody()[0].results()).extracting(MoveResult::accepted).containsExactly(true);
+        assertThat(response.getBody()[1].results()).extracting(MoveResult::accepted).containsExactly(false);
+    }
+
+    @Test
+    void shouldRefuseMovesNamingNoGame() {
+        // when
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/games/moves", List.of(new GameMoveRequest(null, 0, 0, PlayerSymbol.X)), String.class);
+
+        // then
+        assertThat(response.getStatusCode().isError()).isTrue();
+    }
+
+    @Test
+    void shouldCreateGamesInBulk() {
+        // when
+        ResponseEntity<UUID[]> response = restTemplate.postForEntity(
+                "/api/games/bulk?count=1200", null, UUID[].class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        UUID[] ids = response.getBody();
+        assertThat(ids).hasSize(1200).doesNotHaveDuplicates();
+
+        ResponseEntity<GameDetailsResponse> game = restTemplate.getForEntity(
+                "/api/games/" + ids[1199], GameDetailsResponse.class);
+        assertThat(game.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(game.getBody().status()).isEqualTo(GameStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldRejectBulkCountBeforeStreaming() {
+        // when
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/games/bulk?count=0", null, String.class);
+
+        // then
+        assertThat(response.getStatusCode().isError()).isTrue();
+    }
+
+    @Test
+    void shouldExposeMoveMetricsForPrometheus() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        restTemplate.postForEntity("/api/games/" + gameId + "/moves", List.of(new MakeMoveRequest(0, 0, PlayerSymbol.X)), Void.class);
+
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("tictactoe_move_validation_seconds_count")
+                .contains("tictactoe_move_persistence_seconds_count")
+                .contains("tictactoe_move_conflicts_total")
+                .contains("tictactoe_cache_hits_total")
+                .contains("tictactoe_http_statements_count{method=\"POST\",uri=\"/api/games/{gameId}/moves\"}")
+                .doesNotContain("tictactoe_http_statements_count{method=\"POST\",uri=\"/api/games/{gameId}/move\"}");
+    }
+
+    @Test
+    void shouldReturnCompactBoardWhenRequested() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.parseMediaType(CompactGameResponse.MEDIA_TYPE)));
+        restTemplate.exchange("/api/games/" + gameId + "/move", HttpMethod.POST,
+                new HttpEntity<>(new MakeMoveRequest(1, 2, PlayerSymbol.X), headers), String.class);
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/games/" + gameId, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(
+                MediaType.parseMediaType(CompactGameResponse.MEDIA_TYPE))).isTrue();
+        assertThat(response.getBody()).isEqualTo(
+                "{\"id\":\"" + gameId + "\",\"status\":\"IN_PROGRESS\",\"playerTurn\":\"O\",\"size\":3,\"winLength\":3,\"board\":\".....X...\"}");
+    }
+
+    @Test
+    void shouldLetAiOpenWhenHumanPlaysO() {
+        // when
+        GameCreateResponse game = restTemplate.postForEntity(
+                "/api/games?mode=vs-ai&player=O", null, GameCreateResponse.class).getBody();
+
+        // then
+        assertThat(game.aiPlayer()).isEqualTo(PlayerSymbol.X);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.O);
+        GameDetailsResponse details = restTemplate.getForObject("/api/games/" + game.id(), GameDetailsResponse.class);
+        assertThat(Arrays.stream(details.board()).flatMap(Arrays::stream)).containsOnlyOnce("X");
+    }
+
+    @Test
+    void shouldPlayOnLargerBoard() {
+        // given
+        GameCreateResponse game = restTemplate.postForEntity(
+                "/api/games?size=15", null, GameCreateResponse.class).getBody();
+
+        // when
+        restTemplate.postForEntity("/api/games/" + game.id() + "/move",
+                new MakeMoveRequest(14, 14, PlayerSymbol.X), GameDetailsResponse.class);
+
+        // then
+        assertThat(game.size()).isEqualTo(15);
+        assertThat(game.winLength()).isEqualTo(5);
+        GameDetailsResponse details = restTemplate.getForObject("/api/games/" + game.id(), GameDetailsResponse.class);
+        assertThat(details.board()).hasDimensions(15, 15);
+        assertThat(details.board()[14][14]).isEqualTo("X");
+        assertThat(details.playerTurn()).isEqualTo(PlayerSymbol.O);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhileGameIsUnchanged() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        String eTag = restTemplate.getForEntity("/api/games/" + gameId, GameDetailsResponse.class)
+                .getHeaders().getETag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+
+        // when
+        ResponseEntity<String> unchanged = restTemplate.exchange(
+                "/api/games/" + gameId, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        restTemplate.postForEntity("/api/games/" + gameId + "/move", new MakeMoveRequest(0, 0, PlayerSymbol.X), Void.class);
+        ResponseEntity<GameDetailsResponse> changed = restTemplate.exchange(
+                "/api/games/" + gameId, HttpMethod.GET, new HttpEntity<>(headers), GameDetailsResponse.class);
+
+        // then
+        assertThat(eTag).isEqualTo("\"0-IN_PROGRESS\"");
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(unchanged.getBody()).isNull();
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isEqualTo("\"1-IN_PROGRESS\"");
+        assertThat(changed.getBody().board()[0][0]).isEqualTo("X");
+    }
+
+    @Test
+    void shouldHoldLongPollUntilNextMove() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"0-IN_PROGRESS\"");
+        CompletableFuture<ResponseEntity<GameDetailsResponse>> poll = CompletableFuture.supplyAsync(() ->
+                restTemplate.exchange("/api/games/" + gameId + "?wait=10", HttpMethod.GET,
+                        new HttpEntity<>(headers), GameDetailsResponse.class));
+
+        // when
+        assertThatThrownBy(() -> poll.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        restTemplate.postForEntity("/api/games/" + gameId + "/move", new MakeMoveRequest(1, 1, PlayerSymbol.X), Void.class);
+
+        // then
+        ResponseEntity<GameDetailsResponse> response = poll.join();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-IN_PROGRESS\"");
+        assertThat(response.getBody().board()[1][1]).isEqualTo("X");
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenLongPollTimesOut() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"0-IN_PROGRESS\"");
+
+        // when
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/games/" + gameId + "?wait=1", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0-IN_PROGRESS\"");
+    }
+
+    @Test
+    void shouldTimeOutLongPollWithoutWaitAfterOneSecond() {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"0-IN_PROGRESS\"");
+
+        // when
+        long start = System.nanoTime();
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/games/" + gameId + "?wait=0", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldStreamMovesUntilGameIsWon() throws Exception {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        HttpResponse<Stream<String>> stream = openEventStream(gameId);
+        Iterator<String> lines = stream.body().iterator();
+        assertThat(lines.next()).isEqualTo("event:game");
+
+        // when
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        for (int i = 0; i < moves.length; i++) {
+            PlayerSymbol player = i % 2 == 0 ? PlayerSymbol.X : PlayerSymbol.O;
+            restTemplate.postForEntity("/api/games/" + gameId + "/move",
+                    new MakeMoveRequest(moves[i][0], moves[i][1], player), Void.class);
+        }
+
+        // then
+        List<String> events = CompletableFuture.supplyAsync(() -> {
+            List<String> rest = new ArrayList<>();
+            lines.forEachRemaining(rest::add);
+            return rest;
+        }).get(5, TimeUnit.SECONDS);
+        assertThat(events.stream().filter(line -> line.equals("event:move"))).hasSize(5);
+        assertThat(events).contains("id:5");
+        assertThat(events.getLast()).isEmpty();
+    }
+
+    @Test
+    void shouldCloseStreamOfFinishedGameAfterItsState() throws Exception {
+        // given
+        UUID gameId = restTemplate.postForEntity("/api/games", null, GameCreateResponse.class).getBody().id();
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        for (int i = 0; i < moves.length; i++) {
+            PlayerSymbol player = i % 2 == 0 ? PlayerSymbol.X : PlayerSymbol.O;
+            restTemplate.postForEntity("/api/games/" + gameId + "/move",
+                    new MakeMoveRequest(moves[i][0], moves[i][1], player), Void.class);
+        }
+
+        // when
+        HttpResponse<Stream<String>> stream = openEventStream(gameId);
+
+        // then
+        List<String> events = CompletableFuture.supplyAsync(() -> stream.body().toList()).get(5, TimeUnit.SECONDS);
+        assertThat(events.getFirst()).isEqualTo("event:game");
+        assertThat(events.get(1)).contains("\"status\":\"X_WINS\"");
+        assertThat(events).doesNotContain("event:move");
+    }
+
+    @Test
+    void shouldMatchTwoPlayersFromTheLobbyIntoOneGame() throws InterruptedException {
+        // given
+        MatchTicketResponse alice = restTemplate.postForEntity(
+                "/api/matchmaking/tickets", new MatchTicketRequest("alice", 1200), MatchTicketResponse.class).getBody();
+        MatchTicketResponse bob = restTemplate.postForEntity(
+                "/api/matchmaking/tickets", new MatchTicketRequest("bob", 1250), MatchTicketResponse.class).getBody();
+        assertThat(alice.status()).isEqualTo(MatchStatus.WAITING);
+
+        // when
+        MatchTicketResponse aliceMatch = awaitMatch(alice.ticketId());
+        MatchTicketResponse bobMatch = awaitMatch(bob.ticketId());
+
+        // then
+        assertThat(aliceMatch.gameId()).isEqualTo(bobMatch.gameId());
+        assertThat(aliceMatch.player()).isEqualTo(PlayerSymbol.X);
+        assertThat(bobMatch.opponentId()).isEqualTo("alice");
+        ResponseEntity<Void> move = restTemplate.postForEntity("/api/games/" + aliceMatch.gameId() + "/move",
+                new MakeMoveRequest(0, 0, aliceMatch.player()), Void.class);
+        assertThat(move.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldCreditResultToPlayersAndRankWinner() {
+        // given
+        String winner = "winner-" + UUID.randomUUID();
+        String loser = "loser-" + UUID.randomUUID();
+        UUID gameId = restTemplate.postForEntity("/api/games?xPlayerId=" + winner + "&oPlayerId=" + loser,
+                null, GameCreateResponse.class).getBody().id();
+
+        // when
+        int[][] moves = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+        for (int i = 0; i < moves.length; i++) {
+            PlayerSymbol player = i % 2 == 0 ? PlayerSymbol.X : PlayerSymbol.O;
+            restTemplate.postForEntity("/api/games/" + gameId + "/move",
+                    new MakeMoveRequest(moves[i][0], moves[i][1], player), Void.class);
+        }
+
+        // then
+        GameDetailsResponse game = restTemplate.getForObject("/api/games/" + gameId, GameDetailsResponse.class);
+        assertThat(game.status()).isEqualTo(GameStatus.X_WINS);
+        assertThat(game.xPlayerId()).isEqualTo(winner);
+
+        PlayerStatsResponse winnerStats = restTemplate.getForObject(
+                "/api/players/" + winner + "/stats", PlayerStatsResponse.class);
+        assertThat(winnerStats).isEqualTo(new PlayerStatsResponse(winner, 1, 0, 0, 1, 1));
+        PlayerStatsResponse loserStats = restTemplate.getForObject(
+                "/api/players/" + loser + "/stats", PlayerStatsResponse.class);
+        assertThat(loserStats.losses()).isEqualTo(1);
+
+        PlayerStatsResponse[] leaderboard = restTemplate.getForObject(
+                "/api/players/leaderboard?limit=1000", PlayerStatsResponse[].class);
+        assertThat(leaderboard).contains(winnerStats);
+        assertThat(restTemplate.getForEntity("/api/players/nobody/stats", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private HttpResponse<Stream<String>> openEventStream(UUID gameId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(restTemplate.getRootUri() + "/api/games/" + gameId + "/events"))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        return response;
+    }
+
+    private MatchTicketResponse awaitMatch(UUID ticketId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            MatchTicketResponse ticket = restTemplate.getForObject(
+                    "/api/matchmaking/tickets/" + ticketId, MatchTicketResponse.class);
+            if (ticket.status() == MatchStatus.MATCHED) {
+                return ticket;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Ticket " + ticketId + " was not matched");
+    }
 }
@@ -0,0 +1,46 @@
+package softcore.tictactoe.api.filter;
+
+import org.junit.jupiter.api.Test;
+import softcore.tictactoe.domain.cluster.ClusterProperties;
+import softcore.tictactoe.domain.cluster.GameOwnership;
+import softcore.tictactoe.domain.mailbox.GameMailboxProperties;
+import softcore.tictactoe.persistance.writebehind.WriteBehindProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class GameRoutingFilterTest {
+
+    private static final ClusterProperties CLUSTER = new ClusterProperties(
+            true, "node-a", Map.of(), null, Duration.ofSeconds(10), 128,
+            ClusterProperties.Routing.FORWARD, Duration.ofSeconds(2), "secret");
+
+    @Test
+    void shouldRefuseClusteringWithWriteBehind() {
+        // given
+        WriteBehindProperties writeBehind = new WriteBehindProperties(
+                true, Duration.ofMillis(50), 100, 100, Duration.ZERO, Duration.ofSeconds(1));
+
+        // when / then
+        assertThatThrownBy(() -> new GameRoutingFilter(
+                CLUSTER, writeBehind, new GameMailboxProperties(false), mock(GameOwnership.class)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("write-behind");
+    }
+
+    @Test
+    void shouldRefuseClusteringWithMailboxes() {
+        // given
+        WriteBehindProperties writeBehind = new WriteBehindProperties(
+                false, Duration.ofMillis(50), 100, 100, Duration.ZERO, Duration.ofSeconds(1));
+
+        // when / then
+        assertThatThrownBy(() -> new GameRoutingFilter(
+                CLUSTER, writeBehind, new GameMailboxProperties(true), mock(GameOwnership.class)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("mailboxes");
+    }
+}
@@ -0,0 +1,198 @@
+package softcore.tictactoe.api.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.TicTacToeApplication;
+import softcore.tictactoe.api.model.GameCreateResponse;
+import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.api.model.MatchTicketResponse;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.cluster.GameOwnership;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several nodes on one machine sharing the test database, each with its own web server.
+ */
+class GameRoutingIT extends BaseDatabaseTest {
+
+    private static final List<String> NODE_IDS = List.of("node-a", "node-b", "node-c");
+
+    private static final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static final List<URI> addresses = new ArrayList<>();
+
+    @TempDir
+    static Path tempDir;
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        StringBuilder membership = new StringBuilder();
+        for (String nodeId : NODE_IDS) {
+            URI address = URI.create("http://localhost:" + freePort());
+            addresses.add(address);
+            membership.append(nodeId).append('=').append(address).append('\n');
+        }
+        Path membershipFile = Files.writeString(tempDir.resolve("cluster.properties"), membership);
+
+        for (int i = 0; i < NODE_IDS.size(); i++) {
+            nodes.add(startNode(NODE_IDS.get(i), addresses.get(i),
+                    "--tictactoe.cluster.membership-file=" + membershipFile));
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void shouldServeEveryGameFromItsOwningNode() throws Exception {
+        // given
+        UUID gameId = createGame(addresses.getFirst());
+        String owner = nodes.getFirst().getBean(GameOwnership.class).ownerOf(gameId);
+
+        // when
+        assertThat(move(addresses.get(0), gameId, 0, 0, PlayerSymbol.X).statusCode()).isEqualTo(200);
+        assertThat(move(addresses.get(1), gameId, 1, 1, PlayerSymbol.O).statusCode()).isEqualTo(200);
+        assertThat(move(addresses.get(2), gameId, 2, 2, PlayerSymbol.X).statusCode()).isEqualTo(200);
+
+        // then
+        for (URI address : addresses) {
+            HttpResponse<String> response = get(address.resolve("/api/games/" + gameId));
+            assertThat(response.headers().firstValue("ETag")).hasValue("\"3-IN_PROGRESS\"");
+            GameDetailsResponse game = objectMapper.readValue(response.body(), GameDetailsResponse.class);
+            assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.O);
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            GameDto cached = nodes.get(i).getBean(GameStateCache.class).get(gameId);
+            if (NODE_IDS.get(i).equals(owner)) {
+                assertThat(cached.board().moveCount()).isEqualTo(3);
+            } else {
+                assertThat(cached == null || cached.board().moveCount() == 0).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void shouldRouteRequestsWithUnsignedForwardingHeader() throws Exception {
+        // given
+        UUID gameId = createGame(addresses.getFirst());
+        String owner = nodes.getFirst().getBean(GameOwnership.class).ownerOf(gameId);
+        int other = NODE_IDS.get(1).equals(owner) ? 2 : 1;
+
+        // when
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(addresses.get(other).resolve("/api/games/" + gameId))
+                .header(GameRoutingFilter.FORWARDED_BY, owner)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(nodes.get(other).getBean(GameStateCache.class).get(gameId)).isNull();
+    }
+
+    @Test
+    void shouldServeLobbyTicketsFromEveryNode() throws Exception {
+        // given
+        HttpResponse<String> joined = http.send(HttpRequest.newBuilder(addresses.get(0).resolve("/api/matchmaking/tickets"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"playerId\":\"routing-alice\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        UUID ticketId = objectMapper.readValue(joined.body(), MatchTicketResponse.class).ticketId();
+
+        // when / then
+        for (URI address : addresses) {
+            HttpResponse<String> ticket = get(address.resolve("/api/matchmaking/tickets/" + ticketId));
+            assertThat(ticket.statusCode()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void shouldRedirectToOwningNode() throws Exception {
+        // given
+        List<URI> redirectAddresses = List.of(
+                URI.create("http://localhost:" + freePort()), URI.create("http://localhost:" + freePort()));
+        String[] members = {
+                "--tictactoe.cluster.routing=redirect",
+                "--tictactoe.cluster.nodes.left=" + redirectAddresses.get(0),
+                "--tictactoe.cluster.nodes.right=" + redirectAddresses.get(1)
+        };
+
+        try (ConfigurableApplicationContext left = startNode("left", redirectAddresses.get(0), members);
+             ConfigurableApplicationContext right = startNode("right", redirectAddresses.get(1), members)) {
+            GameOwnership ownership = left.getBean(GameOwnership.class);
+            UUID gameId;
+            do {
+                gameId = createGame(redirectAddresses.get(0));
+            } while (!ownership.ownerOf(gameId).equals("right"));
+
+            // when
+            HttpResponse<String> response = get(redirectAddresses.get(0).resolve("/api/games/" + gameId + "?wait=1"));
+
+            // then
+            assertThat(response.statusCode()).isEqualTo(307);
+            assertThat(response.headers().firstValue("Location"))
+                    .hasValue(redirectAddresses.get(1) + "/api/games/" + gameId + "?wait=1");
+            assertThat(get(redirectAddresses.get(1).resolve("/api/games/" + gameId)).statusCode()).isEqualTo(200);
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, URI address, String... args) {
+        List<String> nodeArgs = new ArrayList<>(List.of(sharedDatabaseArgs()));
+        nodeArgs.add("--server.port=" + address.getPort());
+        nodeArgs.add("--tictactoe.cluster.enabled=true");
+        nodeArgs.add("--tictactoe.cluster.node-id=" + nodeId);
+        nodeArgs.add("--tictactoe.cluster.forward-secret=routing-it");
+        nodeArgs.addAll(List.of(args));
+        return new SpringApplicationBuilder(TicTacToeApplication.class).run(nodeArgs.toArray(String[]::new));
+    }
+
+    private static UUID createGame(URI node) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(node.resolve("/api/games"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readValue(response.body(), GameCreateResponse.class).id();
+    }
+
+    private static HttpResponse<String> move(URI node, UUID gameId, int x, int y, PlayerSymbol player) throws Exception {
+        String body = "{\"x\":" + x + ",\"y\":" + y + ",\"player\":\"" + player + "\"}";
+        return http.send(HttpRequest.newBuilder(node.resolve("/api/games/" + gameId + "/move"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(URI uri) throws Exception {
+        return http.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
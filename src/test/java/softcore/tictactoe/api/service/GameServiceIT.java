@@ -3,21 +3,28 @@ package softcore.tictactoe.api.service;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import softcore.tictactoe.BaseDatabaseTest;
 import softcore.tictactoe.ConcurrentTestHelper;
+import softcore.tictactoe.TicTacToeApplication;
 import softcore.tictactoe.api.model.MakeMoveCommand;
 import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.model.dto.MoveDto;
 import softcore.tictactoe.domain.model.entity.GameEntity;
-import softcore.tictactoe.domain.model.entity.MoveEntity;
 import softcore.tictactoe.domain.service.GameService;
 import softcore.tictactoe.persistance.repository.GameRepository;
 import softcore.tictactoe.persistance.repository.MoveRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest
@@ -33,11 +40,12 @@ class GameServiceIT extends BaseDatabaseTest {
     @Autowired private GameService gameService;
     @Autowired private GameRepository gameRepository;
     @Autowired private MoveRepository moveRepository;
+    @Autowired private GameStateCache gameStateCache;
 
     @Test
     void shouldMakeMoveAndSwitchTurn() {
         // given
-        UUID gameId = givenGameWith(STARTING_PLAYER, GameStatus.IN_PROGRESS);
+        UUID gameId = givenGame();
         MakeMoveCommand command = new MakeMoveCommand(gameId, X, Y, STARTING_PLAYER);
 
         // when
@@ -51,7 +59,7 @@ class GameServiceIT extends BaseDatabaseTest {
     @Test
     void shouldAllowOnlyOneMoveWhenExecutedConcurrently() throws Exception {
         // given
-        UUID gameId = givenGameWith(STARTING_PLAYER, GameStatus.IN_PROGRESS);
+        UUID gameId = givenGame();
         MakeMoveCommand command = new MakeMoveCommand(gameId, X, Y, STARTING_PLAYER);
 
         Runnable moveTask = () -> gameService.makeMove(command);
@@ -64,29 +72,112 @@ class GameServiceIT extends BaseDatabaseTest {
         assertThat(exceptions.getFirst()).isInstanceOfAny(
                 IllegalArgumentException.class, IllegalStateException.class);
 
-        List<MoveEntity> moves = moveRepository.findAllByGameIdOrderByCreatedAtAsc(gameId);
+        List<MoveDto> moves = moveRepository.findByGameIdOrderBySeqAsc(gameId);
         assertThat(moves).hasSize(1);
     }
 
-    private UUID givenGameWith(PlayerSymbol playerTurn, GameStatus status) {
-        GameEntity game = GameEntity.builder()
-                .playerTurn(playerTurn)
-                .status(status)
-                .build();
-        return gameRepository.save(game).getId();
+    @Test
+    void shouldAllowOnlyOneMoveWhenExecutedConcurrentlyOnTwoNodes() throws Exception {
+        // given
+        UUID gameId = givenGame();
+        MakeMoveCommand command = new MakeMoveCommand(gameId, X, Y, STARTING_PLAYER);
+
+        try (ConfigurableApplicationContext secondNode = startSecondNode()) {
+            GameService secondNodeGameService = secondNode.getBean(GameService.class);
+            AtomicInteger calls = new AtomicInteger();
+
+            Runnable moveTask = () -> {
+                GameService node = calls.getAndIncrement() % 2 == 0 ? gameService : secondNodeGameService;
+                node.makeMove(command);
+            };
+
+            // when
+            List<Throwable> exceptions = ConcurrentTestHelper.runConcurrently(moveTask, THREAD_COUNT, 10);
+
+            // then
+            assertThat(exceptions).hasSize(THREAD_COUNT - 1);
+            assertThat(exceptions).allMatch(e ->
+                    e instanceof IllegalArgumentException || e instanceof IllegalStateException);
+
+            thenSingleMoveSaved(gameId, X, Y, STARTING_PLAYER);
+            thenGameTurnIs(gameId, PlayerSymbol.O);
+            assertThat(secondNodeGameService.getGame(gameId).playerTurn()).isEqualTo(PlayerSymbol.O);
+
+            // when the game goes on alternating between the nodes, each holding a stale state
+            GameService[] nodes = {secondNodeGameService, gameService};
+            int[][] cells = {{1, 1}, {0, 1}, {2, 2}, {0, 2}};
+            for (int i = 0; i < cells.length; i++) {
+                PlayerSymbol player = i % 2 == 0 ? PlayerSymbol.O : PlayerSymbol.X;
+                nodes[i % 2].makeMove(new MakeMoveCommand(gameId, cells[i][0], cells[i][1], player));
+            }
+
+            // then
+            assertThat(moveRepository.findByGameIdOrderBySeqAsc(gameId)).hasSize(5);
+            assertThat(gameService.getGame(gameId).status()).isEqualTo(GameStatus.X_WINS);
+        }
+    }
+
+    @Test
+    void shouldFlushWriteBehindMovesOnShutdown() {
+        // given
+        UUID gameId = givenGame();
+
+        try (ConfigurableApplicationContext writeBehindNode = startSecondNode("--tictactoe.write-behind.enabled=true",
+                "--tictactoe.write-behind.flush-interval=1h")) {
+            GameService writeBehindGameService = writeBehindNode.getBean(GameService.class);
+
+            // when
+            writeBehindGameService.makeMove(new MakeMoveCommand(gameId, 0, 0, PlayerSymbol.X));
+            writeBehindGameService.makeMove(new MakeMoveCommand(gameId, 1, 1, PlayerSymbol.O));
+
+            // then
+            assertThat(moveRepository.findByGameIdOrderBySeqAsc(gameId)).isEmpty();
+        }
+        assertThat(moveRepository.findByGameIdOrderBySeqAsc(gameId)).containsExactly(
+                new MoveDto(0, 0, PlayerSymbol.X),
+                new MoveDto(1, 1, PlayerSymbol.O));
+    }
+
+    @Test
+    void shouldQueueConcurrentMovesInsteadOfConflictingInMailboxMode() throws Exception {
+        // given
+        UUID gameId = givenGame();
+        MakeMoveCommand command = new MakeMoveCommand(gameId, X, Y, STARTING_PLAYER);
+
+        try (ConfigurableApplicationContext mailboxNode = startSecondNode("--tictactoe.mailbox.enabled=true")) {
+            GameService mailboxGameService = mailboxNode.getBean(GameService.class);
+
+            // when
+            List<Throwable> exceptions = ConcurrentTestHelper.runConcurrently(
+                    () -> mailboxGameService.makeMove(command), THREAD_COUNT);
+
+            // then
+            assertThat(exceptions).hasSize(THREAD_COUNT - 1);
+            assertThat(exceptions).allMatch(IllegalArgumentException.class::isInstance);
+            thenSingleMoveSaved(gameId, X, Y, STARTING_PLAYER);
+            assertThat(mailboxGameService.getGame(gameId).playerTurn()).isEqualTo(PlayerSymbol.O);
+        }
+    }
+
+    private ConfigurableApplicationContext startSecondNode(String... args) {
+        List<String> nodeArgs = new ArrayList<>(List.of(sharedDatabaseArgs()));
+        nodeArgs.addAll(List.of(args));
+        return new SpringApplicationBuilder(TicTacToeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(nodeArgs.toArray(String[]::new));
+    }
+
+    private UUID givenGame() {
+        return gameRepository.save(GameEntity.builder().build()).getId();
     }
 
     private void thenSingleMoveSaved(UUID gameId, int x, int y, PlayerSymbol player) {
-        List<MoveEntity> moves = moveRepository.findAllByGameIdOrderByCreatedAtAsc(gameId);
-        assertThat(moves).hasSize(1);
-        MoveEntity move = moves.getFirst();
-        assertThat(move.getXAxis()).isEqualTo(x);
-        assertThat(move.getYAxis()).isEqualTo(y);
-        assertThat(move.getPlayer()).isEqualTo(player);
+        List<MoveDto> moves = moveRepository.findByGameIdOrderBySeqAsc(gameId);
+        assertThat(moves).containsExactly(new MoveDto(x, y, player));
     }
 
     private void thenGameTurnIs(UUID gameId, PlayerSymbol expectedTurn) {
-        GameEntity updated = gameRepository.findById(gameId).orElseThrow();
-        assertThat(updated.getPlayerTurn()).isEqualTo(expectedTurn);
+        gameStateCache.evict(gameId);
+        assertThat(gameService.getGame(gameId).playerTurn()).isEqualTo(expectedTurn);
     }
 }
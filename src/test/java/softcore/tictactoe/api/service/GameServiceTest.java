@@ -1,27 +1,65 @@
 package softcore.tictactoe.api.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionOperations;
 import softcore.tictactoe.api.model.MakeMoveCommand;
 import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
 import softcore.tictactoe.common.exception.GameNotFoundException;
+import softcore.tictactoe.domain.cache.GameCacheProperties;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.event.GameFinishedEvent;
+import softcore.tictactoe.domain.event.MoveMadeEvent;
+import softcore.tictactoe.domain.lock.GameLockManager;
+import softcore.tictactoe.domain.mailbox.GameMailboxes;
+import softcore.tictactoe.domain.mailbox.PendingMove;
+import softcore.tictactoe.domain.metrics.GameMetrics;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.dto.MoveBatchDto;
+import softcore.tictactoe.domain.model.dto.MoveDto;
 import softcore.tictactoe.domain.model.entity.GameEntity;
-import softcore.tictactoe.domain.model.entity.MoveEntity;
+import softcore.tictactoe.domain.reaper.IdleGameReaper;
+import softcore.tictactoe.domain.service.GameBulkProperties;
 import softcore.tictactoe.domain.service.GameService;
+import softcore.tictactoe.domain.service.GameSnapshotProperties;
+import softcore.tictactoe.persistance.repository.GameArchiveRepository;
 import softcore.tictactoe.persistance.repository.GameRepository;
+import softcore.tictactoe.persistance.repository.GameSnapshotRepository;
+import softcore.tictactoe.persistance.repository.MoveBatchRepository;
 import softcore.tictactoe.persistance.repository.MoveRepository;
+import softcore.tictactoe.persistance.writebehind.WriteBehindMoveWriter;
+import softcore.tictactoe.persistance.writebehind.WriteBehindProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,35 +77,324 @@ class GameServiceTest {
     @Mock
     private MoveRepository moveRepository;
 
+    @Mock
+    private MoveBatchRepository moveBatchRepository;
+
+    @Spy
+    private GameStateCache gameStateCache = new GameStateCache(
+            new GameCacheProperties(100, Duration.ofMinutes(1), Duration.ofSeconds(1)));
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private GameBulkProperties gameBulkProperties = new GameBulkProperties(2, 10, 10);
+
+    @Mock
+    private GameSnapshotRepository gameSnapshotRepository;
+
+    @Spy
+    private GameSnapshotProperties gameSnapshotProperties = new GameSnapshotProperties(4);
+
+    @Mock
+    private WriteBehindMoveWriter moveWriter;
+
+    @Spy
+    private WriteBehindProperties writeBehindProperties = new WriteBehindProperties(
+            true, Duration.ofMillis(50), 10, 10, Duration.ZERO, Duration.ofSeconds(1));
+
+    @Spy
+    private GameLockManager gameLockManager = new GameLockManager(gameMetrics);
+
+    @Mock
+    private GameArchiveRepository gameArchiveRepository;
+
+    @Mock
+    private IdleGameReaper idleGameReaper;
+
+    @Mock
+    private GameMailboxes gameMailboxes;
+
     @InjectMocks
     private GameService gameService;
 
     @Test
     void shouldMakeMoveAndSwitchTurn() {
         // given
-        GameEntity game = inProgressGame();
-        MoveEntity newMove = moveFromCommand(VALID_MOVE, game);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(moveRepository.findAllByGameIdOrderByCreatedAtAsc(GAME_ID)).thenReturn(List.of());
-        when(gameRepository.save(any())).thenReturn(game);
-        when(moveRepository.save(any())).thenReturn(newMove);
+        givenStoredGame(inProgressGame());
 
         // when
         gameService.makeMove(VALID_MOVE);
 
         // then
         verify(moveRepository).save(argThat(move ->
+                        move.getSeq() == 1 &&
                         move.getXAxis() == 1 &&
                         move.getYAxis() == 1 &&
                         move.getPlayer() == PlayerSymbol.X));
 
-        verify(gameRepository).save(argThat(saved -> saved.getPlayerTurn() == PlayerSymbol.O));
-        verify(gameRepository).save(argThat(saved -> saved.getStatus() == GameStatus.IN_PROGRESS));
+        verify(gameSnapshotRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new MoveMadeEvent(
+                GAME_ID, 1, 1, 1, PlayerSymbol.X, GameStatus.IN_PROGRESS, PlayerSymbol.O));
+    }
+
+    @Test
+    void shouldServeFollowingMovesFromCache() {
+        // given
+        givenStoredGame(inProgressGame());
+
+        // when
+        gameService.makeMove(VALID_MOVE);
+        gameService.makeMove(new MakeMoveCommand(GAME_ID, 0, 0, PlayerSymbol.O));
+        GameDto game = gameService.getGame(GAME_ID);
+
+        // then
+        verify(gameRepository, times(1)).findStateById(GAME_ID);
+        verify(moveRepository, times(1)).findByGameIdAndSeqGreaterThanOrderBySeqAsc(GAME_ID, 0);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.X);
+        assertThat(game.board().moveCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRebuildStateFromSnapshotAndLaterMoves() {
+        // given
+        givenStoredGame(gameWithMoves(List.of(move(0, 0, PlayerSymbol.X), move(1, 1, PlayerSymbol.O))));
+        when(moveRepository.findByGameIdAndSeqGreaterThanOrderBySeqAsc(GAME_ID, 2))
+                .thenReturn(List.of(move(2, 2, PlayerSymbol.X)));
+
+        // when
+        GameDto game = gameService.getGame(GAME_ID);
+
+        // then
+        assertThat(game.board().moveCount()).isEqualTo(3);
+        assertThat(game.board().playerAt(2, 2)).isEqualTo(PlayerSymbol.X);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.O);
+    }
+
+    @Test
+    void shouldLoadArchivedGameWithoutReplay() {
+        // given
+        GameDto archived = new GameDto(GAME_ID, GameStatus.X_WINS, PlayerSymbol.X, null, board(List.of(
+                move(0, 0, PlayerSymbol.X), move(1, 1, PlayerSymbol.O),
+                move(0, 1, PlayerSymbol.X), move(2, 2, PlayerSymbol.O),
+                move(0, 2, PlayerSymbol.X))));
+        when(gameArchiveRepository.findStateById(GAME_ID)).thenReturn(Optional.of(archived));
+
+        // when
+        GameDto game = gameService.getGame(GAME_ID);
+
+        // then
+        assertThat(game).isEqualTo(archived);
+        verify(moveRepository, never()).findByGameIdAndSeqGreaterThanOrderBySeqAsc(any(), any(Integer.class));
+    }
+
+    @Test
+    void shouldSnapshotWhenMoveCountReachesInterval() {
+        // given
+        givenStoredGame(gameWithMoves(List.of(
+                move(0, 0, PlayerSymbol.X),
+                move(1, 1, PlayerSymbol.O),
+                move(2, 2, PlayerSymbol.X)
+        )));
+
+        // when
+        gameService.makeMove(new MakeMoveCommand(GAME_ID, 0, 2, PlayerSymbol.X));
+
+        // then
+        thenSnapshotSaved(4, GameStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldReplyAsAiInSameUpdate() {
+        // given
+        givenStoredGame(new GameDto(GAME_ID, GameStatus.IN_PROGRESS, PlayerSymbol.X, PlayerSymbol.O, GameBoard.empty()));
+
+        // when
+        GameDto updated = gameService.makeMove(new MakeMoveCommand(GAME_ID, 0, 0, PlayerSymbol.X));
+
+        // then
+        verify(moveRepository, times(2)).save(any());
+        assertThat(updated.board().moveCount()).isEqualTo(2);
+        assertThat(updated.board().playerAt(1, 1)).isEqualTo(PlayerSymbol.O);
+    }
+
+    @Test
+    void shouldOpenGameWhenAiPlaysX() {
+        // given
+        when(gameRepository.save(any())).thenAnswer(invocation -> {
+            GameEntity saved = invocation.getArgument(0);
+            saved.setId(GAME_ID);
+            return saved;
+        });
+
+        // when
+        GameDto game = gameService.createNewGame(3, 3, PlayerSymbol.X, GamePlayers.NONE);
+
+        // then
+        assertThat(game.aiPlayer()).isEqualTo(PlayerSymbol.X);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.O);
+        assertThat(game.board().moveCount()).isEqualTo(1);
+        verify(moveRepository).save(argThat(move -> move.getSeq() == 1 && move.getPlayer() == PlayerSymbol.X));
+    }
+
+    @Test
+    void shouldReloadGameBeforeNextMoveOnceAWriteWasDropped() {
+        // given
+        gameStateCache.putLoaded(gameWithMoves(List.of(move(0, 0, PlayerSymbol.X), move(1, 1, PlayerSymbol.O))));
+        givenStoredGame(inProgressGame().withMove(0, 0, PlayerSymbol.X));
+        when(moveWriter.isEnabled()).thenReturn(true);
+        when(moveWriter.isFailed(GAME_ID)).thenReturn(true);
+
+        // when
+        GameDto game = gameService.makeMove(new MakeMoveCommand(GAME_ID, 1, 1, PlayerSymbol.O));
+
+        // then
+        assertThat(game.board().moveCount()).isEqualTo(2);
+        InOrder inOrder = inOrder(moveWriter);
+        inOrder.verify(moveWriter).flush();
+        inOrder.verify(moveWriter).recovered(GAME_ID);
+        inOrder.verify(moveWriter).enqueue(argThat(write -> write.moves().getFirst().getSeq() == 2));
+    }
+
+    @Test
+    void shouldQueueMoveAndAnswerFromMemoryInWriteBehindMode() {
+        // given
+        givenStoredGame(gameWithMoves(List.of(move(0, 0, PlayerSymbol.X), move(1, 1, PlayerSymbol.O))));
+        when(moveWriter.isEnabled()).thenReturn(true);
+
+        // when
+        GameDto game = gameService.makeMove(new MakeMoveCommand(GAME_ID, 0, 1, PlayerSymbol.X));
+
+        // then
+        assertThat(game.board().moveCount()).isEqualTo(3);
+        assertThat(gameService.getGame(GAME_ID)).isEqualTo(game);
+        verify(moveWriter).awaitCapacity();
+        verify(moveWriter).enqueue(argThat(write -> write.gameId().equals(GAME_ID)
+                && write.moves().size() == 1 && write.moves().getFirst().getSeq() == 3
+                && write.snapshot() == null));
+        verify(moveRepository, never()).save(any());
+        verify(gameSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRetryMoveWhenGameWasModifiedConcurrently() {
+        // given
+        givenStoredGame(inProgressGame());
+        when(moveRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint \"ux_move_game_id_seq\""))
+                .thenReturn(null);
+
+        // when
+        GameDto game = gameService.makeMove(VALID_MOVE);
+
+        // then
+        verify(gameRepository, times(2)).findStateById(GAME_ID);
+        verify(gameMetrics).conflict();
+        assertThat(game.board().moveCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGiveUpAfterRepeatedConcurrentModifications() {
+        givenStoredGame(inProgressGame());
+        when(moveRepository.save(any())).thenThrow(new DuplicateKeyException("ux_move_game_id_seq"));
+
+        assertThatThrownBy(() -> gameService.makeMove(VALID_MOVE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Concurrent modification");
+        verify(gameRepository, times(3)).findStateById(GAME_ID);
+        verify(gameMetrics, times(2)).conflict();
+        verify(gameMetrics).conflictsExhausted();
+    }
+
+    @Test
+    void shouldApplyValidMovesOfBatchAndRejectInvalidOnes() {
+        // given
+        givenStoredGame(inProgressGame());
+        List<MakeMoveCommand> commands = List.of(
+                new MakeMoveCommand(GAME_ID, 0, 0, PlayerSymbol.X),
+                new MakeMoveCommand(GAME_ID, 0, 0, PlayerSymbol.O),
+                new MakeMoveCommand(GAME_ID, 1, 1, PlayerSymbol.O),
+                new MakeMoveCommand(GAME_ID, 2, 2, PlayerSymbol.O)
+        );
+
+        // when
+        MoveBatchDto batch = gameService.makeMoves(GAME_ID, commands);
+
+        // then
+        assertThat(batch.rejections()).containsExactly(null, "This position is already taken", null, "It's not your turn");
+        assertThat(batch.game().board().moveCount()).isEqualTo(2);
+        assertThat(batch.game().playerTurn()).isEqualTo(PlayerSymbol.X);
+        verify(moveBatchRepository).insertAll(eq(GAME_ID), argThat(moves ->
+                moves.size() == 2 && moves.get(0).getSeq() == 1 && moves.get(1).getSeq() == 2));
+        verify(gameSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldApplyMailboxBatchAndRejectInvalidMovesInMailboxMode() {
+        // given
+        givenStoredGame(inProgressGame());
+        when(gameMailboxes.isEnabled()).thenReturn(true);
+        when(gameMailboxes.submit(eq(GAME_ID), any(), any())).thenAnswer(invocation -> {
+            List<MakeMoveCommand> commands = invocation.getArgument(1);
+            List<PendingMove> moves = commands.stream()
+                    .map(command -> new PendingMove(command, new CompletableFuture<GameDto>()))
+                    .toList();
+            invocation.<GameMailboxes.MoveProcessor>getArgument(2).process(GAME_ID, moves);
+            return moves.stream().map(PendingMove::result).toList();
+        });
+
+        // when
+        MoveBatchDto batch = gameService.makeMoves(GAME_ID, List.of(VALID_MOVE, DUPLICATE_MOVE));
+
+        // then
+        assertThat(batch.rejections()).containsExactly(null, "It's not your turn");
+        assertThat(batch.game().board().moveCount()).isEqualTo(1);
+        verify(moveBatchRepository).insertAll(eq(GAME_ID), argThat(moves -> moves.size() == 1));
+        assertThatThrownBy(() -> gameService.submitMove(INVALID_PLAYER_MOVE).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCreateGamesInBatches() {
+        // given
+        List<List<UUID>> batches = new ArrayList<>();
+
+        // when
+        gameService.createNewGames(5, batches::add);
+
+        // then
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        verify(gameRepository, times(3)).saveAll(any());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void shouldRejectBulkCountAboveLimit() {
+        assertThatThrownBy(() -> gameService.createNewGames(11, ids -> {}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 1 and 10");
+    }
+
+    @Test
+    void shouldRejectMoveBatchAboveLimit() {
+        assertThatThrownBy(() -> gameService.makeMoves(GAME_ID, Collections.nCopies(11, VALID_MOVE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 1 and 10");
+        verify(gameRepository, never()).findStateById(any());
     }
 
     @Test
     void shouldThrowWhenGameNotFound() {
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.empty());
+        when(gameRepository.findStateById(GAME_ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> gameService.makeMove(VALID_MOVE))
                 .isInstanceOf(GameNotFoundException.class)
@@ -76,18 +403,17 @@ class GameServiceTest {
 
     @Test
     void shouldThrowWhenGameIsNotInProgress() {
-        GameEntity finishedGame = inProgressGame();
-        finishedGame.setStatus(GameStatus.DRAW);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(finishedGame));
+        givenStoredGame(new GameDto(GAME_ID, GameStatus.DRAW, PlayerSymbol.X, null, GameBoard.empty()));
 
         assertThatThrownBy(() -> gameService.makeMove(VALID_MOVE))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("finished");
+        verify(moveRepository, never()).findByGameIdAndSeqGreaterThanOrderBySeqAsc(any(), anyInt());
     }
 
     @Test
     void shouldThrowWhenPlayerIsOutOfTurn() {
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(inProgressGame()));
+        givenStoredGame(inProgressGame());
 
         assertThatThrownBy(() -> gameService.makeMove(INVALID_PLAYER_MOVE))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -96,12 +422,7 @@ class GameServiceTest {
 
     @Test
     void shouldThrowWhenFieldIsTaken() {
-        GameEntity game = inProgressGame();
-        MoveEntity existingMove = MoveEntity.builder()
-                .xAxis(0).yAxis(0).player(PlayerSymbol.X).build();
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(moveRepository.findAllByGameIdOrderByCreatedAtAsc(GAME_ID)).thenReturn(List.of(existingMove));
+        givenStoredGame(gameWithMoves(List.of(move(0, 0, PlayerSymbol.X))));
 
         assertThatThrownBy(() -> gameService.makeMove(DUPLICATE_MOVE))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -109,96 +430,51 @@ class GameServiceTest {
     }
     @Test
     void shouldEndGameWhenPlayerWinsHorizontally() {
-        GameEntity game = inProgressGame();
         MakeMoveCommand command = new MakeMoveCommand(GAME_ID, 0, 2, PlayerSymbol.X);
-        MoveEntity newMove = moveFromCommand(command, game);
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(gameRepository.save(any())).thenReturn(game);
-        when(moveRepository.save(any())).thenReturn(newMove);
-
-        when(moveRepository.findAllByGameIdOrderByCreatedAtAsc(GAME_ID)).thenReturn(
-                List.of(
-                        move(0, 0, PlayerSymbol.X),
-                        move(0, 1, PlayerSymbol.X)
-                ),
-                List.of(
-                        move(0, 0, PlayerSymbol.X),
-                        move(0, 1, PlayerSymbol.X),
-                        newMove
-                )
-        );
+
+        givenStoredGame(gameWithMoves(List.of(
+                move(0, 0, PlayerSymbol.X),
+                move(0, 1, PlayerSymbol.X)
+        )));
 
         gameService.makeMove(command);
 
-        verify(gameRepository).save(argThat(saved -> saved.getStatus() == GameStatus.X_WINS));
+        thenSnapshotSaved(3, GameStatus.X_WINS);
     }
 
     @Test
     void shouldEndGameWhenPlayerWinsVertically() {
-        GameEntity game = inProgressGame();
         MakeMoveCommand command = new MakeMoveCommand(GAME_ID, 2, 0, PlayerSymbol.X);
-        MoveEntity newMove = moveFromCommand(command, game);
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(gameRepository.save(any())).thenReturn(game);
-        when(moveRepository.save(any())).thenReturn(newMove);
-
-        when(moveRepository.findAllByGameIdOrderByCreatedAtAsc(GAME_ID)).thenReturn(
-                List.of(
-                        move(0, 0, PlayerSymbol.X),
-                        move(1, 0, PlayerSymbol.X)
-                ),
-                List.of(
-                        move(0, 0, PlayerSymbol.X),
-                        move(1, 0, PlayerSymbol.X),
-                        newMove
-                )
-        );
+
+        givenStoredGame(gameWithMoves(List.of(
+                move(0, 0, PlayerSymbol.X),
+                move(1, 0, PlayerSymbol.X)
+        )));
 
         gameService.makeMove(command);
 
-        verify(gameRepository).save(argThat(saved -> saved.getStatus() == GameStatus.X_WINS));
+        thenSnapshotSaved(3, GameStatus.X_WINS);
     }
 
     @Test
     void shouldEndGameWhenPlayerWinsDiagonally() {
-        GameEntity game = inProgressGame();
         MakeMoveCommand command = new MakeMoveCommand(GAME_ID, 2, 2, PlayerSymbol.X);
-        MoveEntity newMove = moveFromCommand(command, game);
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(gameRepository.save(any())).thenReturn(game);
-        when(moveRepository.save(any())).thenReturn(newMove);
-
-        when(moveRepository.findAllByGameIdOrderByCreatedAtAsc(GAME_ID)).thenReturn(
-                List.of(
-                        move(0, 0, PlayerSymbol.X),
-                        move(1, 1, PlayerSymbol.X)
-                ),
-                List.of(
-                        move(0, 0, PlayerSymbol.X),
-                        move(1, 1, PlayerSymbol.X),
-                        newMove
-                )
-        );
+
+        givenStoredGame(gameWithMoves(List.of(
+                move(0, 0, PlayerSymbol.X),
+                move(1, 1, PlayerSymbol.X)
+        )));
 
         gameService.makeMove(command);
 
-        verify(gameRepository).save(argThat(saved -> saved.getStatus() == GameStatus.X_WINS));
+        thenSnapshotSaved(3, GameStatus.X_WINS);
     }
 
     @Test
     void shouldEndGameWhenDraw() {
-        GameEntity game = inProgressGame();
         MakeMoveCommand command = new MakeMoveCommand(GAME_ID, 2, 2, PlayerSymbol.X);
-        MoveEntity newMove = moveFromCommand(command, game);
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(gameRepository.save(any())).thenReturn(game);
-        when(moveRepository.save(any())).thenReturn(newMove);
 
-        List<MoveEntity> movesBefore = List.of(
+        List<MoveDto> movesBefore = List.of(
                 move(0, 0, PlayerSymbol.O),
                 move(0, 1, PlayerSymbol.X),
                 move(0, 2, PlayerSymbol.O),
@@ -209,22 +485,69 @@ class GameServiceTest {
                 move(2, 1, PlayerSymbol.X)
         );
 
-        List<MoveEntity> movesAfter = new java.util.ArrayList<>(movesBefore);
-        movesAfter.add(newMove);
-
-        when(moveRepository.findAllByGameIdOrderByCreatedAtAsc(GAME_ID)).thenReturn(
-                movesBefore,
-                movesAfter
-        );
+        givenStoredGame(gameWithMoves(movesBefore));
 
         gameService.makeMove(command);
 
-        verify(gameRepository).save(argThat(saved -> saved.getStatus() == GameStatus.DRAW));
+        thenSnapshotSaved(9, GameStatus.DRAW);
+    }
+
+    @Test
+    void shouldRecheckMoveRejectedByStaleCachedState() {
+        // given
+        gameStateCache.putLoaded(inProgressGame());
+        givenStoredGame(inProgressGame().withMove(0, 0, PlayerSymbol.X));
+
+        // when
+        GameDto game = gameService.makeMove(new MakeMoveCommand(GAME_ID, 1, 1, PlayerSymbol.O));
+
+        // then
+        assertThat(game.board().moveCount()).isEqualTo(2);
+        verify(moveRepository).save(argThat(move -> move.getSeq() == 2 && move.getPlayer() == PlayerSymbol.O));
+    }
+
+    @Test
+    void shouldPublishGameFinishedOnceWithThePlayersOfTheGame() {
+        // given
+        GamePlayers players = new GamePlayers("alice", "bob");
+        GameBoard board = board(List.of(
+                move(0, 0, PlayerSymbol.X), move(1, 0, PlayerSymbol.O),
+                move(0, 1, PlayerSymbol.X), move(1, 1, PlayerSymbol.O)));
+        givenStoredGame(new GameDto(GAME_ID, GameStatus.IN_PROGRESS, PlayerSymbol.X, null, board, players));
+
+        // when
+        GameDto finished = gameService.makeMove(new MakeMoveCommand(GAME_ID, 0, 2, PlayerSymbol.X));
+
+        // then
+        verify(eventPublisher).publishEvent(new GameFinishedEvent(GAME_ID, GameStatus.X_WINS, players));
+        givenStoredGame(finished);
+        assertThatThrownBy(() -> gameService.makeMove(new MakeMoveCommand(GAME_ID, 2, 2, PlayerSymbol.O)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(eventPublisher, times(1)).publishEvent(any(GameFinishedEvent.class));
+    }
+
+    @Test
+    void shouldLeaveGameFinishedToTheWriterInWriteBehindMode() {
+        // given
+        GamePlayers players = new GamePlayers("alice", "bob");
+        GameBoard board = board(List.of(
+                move(0, 0, PlayerSymbol.X), move(1, 0, PlayerSymbol.O),
+                move(0, 1, PlayerSymbol.X), move(1, 1, PlayerSymbol.O)));
+        givenStoredGame(new GameDto(GAME_ID, GameStatus.IN_PROGRESS, PlayerSymbol.X, null, board, players));
+        when(moveWriter.isEnabled()).thenReturn(true);
+
+        // when
+        gameService.makeMove(new MakeMoveCommand(GAME_ID, 0, 2, PlayerSymbol.X));
+
+        // then
+        verify(moveWriter).enqueue(argThat(write ->
+                new GameFinishedEvent(GAME_ID, GameStatus.X_WINS, players).equals(write.finished())));
+        verify(eventPublisher, never()).publishEvent(any(GameFinishedEvent.class));
     }
 
     @Test
     void shouldThrowWhenMovePositionOutOfBounds() {
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(inProgressGame()));
+        givenStoredGame(inProgressGame());
 
         List<MakeMoveCommand> invalidMoves = List.of(
                 new MakeMoveCommand(GAME_ID, -1, 1, PlayerSymbol.X),
@@ -240,28 +563,32 @@ class GameServiceTest {
         }
     }
 
-    private GameEntity inProgressGame() {
-        return GameEntity.builder()
-                .id(GAME_ID)
-                .playerTurn(PlayerSymbol.X)
-                .status(GameStatus.IN_PROGRESS)
-                .build();
+    private void givenStoredGame(GameDto game) {
+        when(gameRepository.findStateById(GAME_ID)).thenReturn(Optional.of(game));
+    }
+
+    private void thenSnapshotSaved(int seq, GameStatus status) {
+        verify(gameSnapshotRepository).save(argThat(snapshot ->
+                snapshot.getSeq() == seq && snapshot.getStatus() == status));
     }
 
-    private MoveEntity moveFromCommand(MakeMoveCommand command, GameEntity game) {
-        return MoveEntity.builder()
-                .xAxis(command.x())
-                .yAxis(command.y())
-                .player(command.player())
-                .game(game)
-                .build();
+    private GameDto inProgressGame() {
+        return gameWithMoves(List.of());
     }
 
-    private MoveEntity move(int x, int y, PlayerSymbol player) {
-        return MoveEntity.builder()
-                .xAxis(x)
-                .yAxis(y)
-                .player(player)
-                .build();
+    private GameDto gameWithMoves(List<MoveDto> moves) {
+        return new GameDto(GAME_ID, GameStatus.IN_PROGRESS, PlayerSymbol.X, null, board(moves));
+    }
+
+    private MoveDto move(int x, int y, PlayerSymbol player) {
+        return new MoveDto(x, y, player);
+    }
+
+    private static GameBoard board(List<MoveDto> moves) {
+        GameBoard board = GameBoard.empty();
+        for (MoveDto move : moves) {
+            board = board.place(move.xAxis(), move.yAxis(), move.player());
+        }
+        return board;
     }
 }
\ No newline at end of file
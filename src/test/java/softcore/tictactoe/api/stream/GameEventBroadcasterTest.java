@@ -0,0 +1,128 @@
+package softcore.tictactoe.api.stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.event.MoveMadeEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventBroadcasterTest {
+
+    private static final UUID GAME_ID = UUID.randomUUID();
+
+    private final CompletableFuture<RecordingEmitter> created = new CompletableFuture<>();
+    private final GameEventBroadcaster broadcaster = new GameEventBroadcaster(
+            new GameEventProperties(Duration.ofMinutes(1), Duration.ofSeconds(30))) {
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            created.complete(emitter);
+            return emitter;
+        }
+    };
+
+    @Test
+    void shouldStreamMoveCommittedWhileStateIsReadAfterTheState() throws Exception {
+        // given
+        MoveMadeEvent move = new MoveMadeEvent(GAME_ID, 1, 1, 1, PlayerSymbol.X, GameStatus.IN_PROGRESS, PlayerSymbol.O);
+
+        // when
+        broadcaster.subscribe(GAME_ID, () -> {
+            broadcaster.onMoveMade(move);
+            return state(GameStatus.IN_PROGRESS);
+        });
+
+        // then
+        RecordingEmitter emitter = created.get();
+        emitter.awaitEvents(2);
+        assertThat(emitter.events).containsExactly("game", "move");
+        assertThat(emitter.completed).isFalse();
+    }
+
+    @Test
+    void shouldCompleteSubscriptionToFinishedGameAfterItsState() throws Exception {
+        // when
+        broadcaster.subscribe(GAME_ID, () -> state(GameStatus.DRAW));
+
+        // then
+        RecordingEmitter emitter = created.get();
+        assertThat(emitter.done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events).containsExactly("game");
+    }
+
+    @Test
+    void shouldCompleteSubscriptionsWhenGameIsWonWithoutBlockingTheCaller() throws Exception {
+        // given
+        broadcaster.subscribe(GAME_ID, () -> state(GameStatus.IN_PROGRESS));
+        RecordingEmitter emitter = created.get();
+        emitter.awaitEvents(1);
+        emitter.blockSends();
+
+        // when
+        broadcaster.onMoveMade(new MoveMadeEvent(GAME_ID, 5, 2, 2, PlayerSymbol.X, GameStatus.X_WINS, PlayerSymbol.O));
+
+        // then
+        assertThat(emitter.completed).isFalse();
+        emitter.releaseSends();
+        assertThat(emitter.done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events).containsExactly("game", "move");
+    }
+
+    private static GameDetailsResponse state(GameStatus status) {
+        return new GameDetailsResponse(GAME_ID, status, PlayerSymbol.X, null, null, new String[3][3]);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .filter(data -> data.contains("event:"))
+                    .forEach(data -> events.add(data.substring(data.indexOf("event:") + 6, data.indexOf('\n', data.indexOf("event:")))));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            done.countDown();
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        private void blockSends() {
+            gate = new CountDownLatch(1);
+        }
+
+        private void releaseSends() {
+            gate.countDown();
+        }
+    }
+}
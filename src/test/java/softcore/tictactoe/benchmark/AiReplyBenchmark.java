@@ -0,0 +1,49 @@
+package softcore.tictactoe.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.AiMoves;
+import softcore.tictactoe.domain.engine.GameBoard;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI reply latency: precomputed table lookup versus a fresh alpha-beta search, on the
+ * opening position (largest search) and a mid-game one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiReplyBenchmark {
+
+    @Param({"opening", "midgame"})
+    private String position;
+
+    private GameBoard board;
+
+    @Setup
+    public void setUp() {
+        board = switch (position) {
+            case "opening" -> GameBoard.empty();
+            case "midgame" -> GameBoard.empty()
+                    .place(0, 0, PlayerSymbol.X)
+                    .place(1, 1, PlayerSymbol.O)
+                    .place(2, 2, PlayerSymbol.X);
+            default -> throw new IllegalArgumentException(position);
+        };
+        AiMoves.bestCell(board);
+    }
+
+    @Benchmark
+    public int tableLookup() {
+        return AiMoves.bestCell(board);
+    }
+
+    @Benchmark
+    public int alphaBetaSearch() {
+        return AiMoves.searchBestCell(board);
+    }
+}
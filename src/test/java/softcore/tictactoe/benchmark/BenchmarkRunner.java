@@ -0,0 +1,27 @@
+package softcore.tictactoe.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks in this package and writes the results as JSON, so runs from
+ * different commits can be diffed or loaded into a JMH visualizer.
+ * Run with: mvn -Pbenchmark test-compile exec:exec
+ * Optional properties: -Dbenchmark.include=<regex> (default: all benchmarks in this package)
+ * and -Dbenchmark.result=<file> (default: target/jmh-result.json).
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = System.getProperty("benchmark.include", BenchmarkRunner.class.getPackageName() + ".");
+        String result = System.getProperty("benchmark.result", "target/jmh-result.json");
+
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build()).run();
+    }
+}
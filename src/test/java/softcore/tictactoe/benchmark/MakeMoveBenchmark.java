@@ -0,0 +1,101 @@
+package softcore.tictactoe.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import softcore.tictactoe.TicTacToeApplication;
+import softcore.tictactoe.api.model.MakeMoveCommand;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.service.GameService;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end GameService.makeMove against Postgres: cache lookup, validation, the move
+ * insert and, for the final move, the snapshot, each in its own transaction. Every game
+ * is played to a draw and replaced by a new one before the next move. With writeBehind
+ * the inserts are queued and the call returns once the state is updated in memory.
+ * Uses a Testcontainers Postgres unless BENCHMARK_DATASOURCE_URL (plus _USERNAME and
+ * _PASSWORD) points at an existing database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MakeMoveBenchmark {
+
+    private static final int[][] DRAW = {
+            {0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}
+    };
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext app;
+    private GameService gameService;
+
+    @State(Scope.Thread)
+    public static class Game {
+        private UUID id;
+        private int moveIndex = DRAW.length;
+
+        @Setup(Level.Invocation)
+        public void startNextGameIfFinished(MakeMoveBenchmark benchmark) {
+            if (moveIndex == DRAW.length) {
+                id = benchmark.gameService.createNewGame().id();
+                moveIndex = 0;
+            }
+        }
+
+        private MakeMoveCommand nextMove() {
+            int[] cell = DRAW[moveIndex];
+            PlayerSymbol player = moveIndex % 2 == 0 ? PlayerSymbol.X : PlayerSymbol.O;
+            moveIndex++;
+            return new MakeMoveCommand(id, cell[0], cell[1], player);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        String url = System.getenv("BENCHMARK_DATASOURCE_URL");
+        String username = System.getenv("BENCHMARK_DATASOURCE_USERNAME");
+        String password = System.getenv("BENCHMARK_DATASOURCE_PASSWORD");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:latest");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        app = new SpringApplicationBuilder(TicTacToeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.docker.compose.enabled=false",
+                        "--tictactoe.write-behind.enabled=" + writeBehind);
+        gameService = app.getBean(GameService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public GameDto makeMove(Game game) {
+        return gameService.makeMove(game.nextMove());
+    }
+}
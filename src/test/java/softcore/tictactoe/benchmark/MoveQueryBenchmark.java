@@ -0,0 +1,113 @@
+package softcore.tictactoe.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeds ~10M moves and measures the reads behind a cache miss in GameService.getGame
+ * (game by id plus its ordered moves) on the schema before and after the move indexes.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=softcore.tictactoe.benchmark.MoveQueryBenchmark
+ */
+public class MoveQueryBenchmark {
+
+    private static final int GAMES = 1_111_112;
+    private static final int MOVES_PER_GAME = 9;
+    private static final int SAMPLE_GAMES = 10_000;
+    private static final int SAMPLES = 200;
+
+    private static final String GAME_QUERY = "SELECT * FROM game WHERE id = ?";
+    private static final String MOVES_BY_TIMESTAMP = "SELECT * FROM move WHERE game_id = ? ORDER BY created_at";
+    private static final String MOVES_BY_SEQUENCE = "SELECT * FROM move WHERE game_id = ? ORDER BY seq";
+
+    public static void main(String[] args) {
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest")) {
+            postgres.start();
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+            migrate(dataSource, "3");
+            seed(jdbc);
+            List<UUID> gameIds = jdbc.queryForList(
+                    "SELECT id FROM game ORDER BY random() LIMIT " + SAMPLE_GAMES, UUID.class);
+
+            report("before (no index, ORDER BY created_at)", measure(jdbc, gameIds, MOVES_BY_TIMESTAMP));
+
+            long start = System.nanoTime();
+            migrate(dataSource, "latest");
+            System.out.printf("migration to latest took %d ms%n", (System.nanoTime() - start) / 1_000_000);
+            jdbc.execute("ANALYZE");
+
+            report("after ((game_id, seq) index, ORDER BY seq)", measure(jdbc, gameIds, MOVES_BY_SEQUENCE));
+        }
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        long start = System.nanoTime();
+        jdbc.execute("""
+                INSERT INTO game (id, status, created_at, updated_at, player_turn)
+                SELECT gen_random_uuid(), 'DRAW', now(), now(), 'X'
+                  FROM generate_series(1, %d)
+                """.formatted(GAMES));
+        jdbc.execute("""
+                INSERT INTO move (id, game_id, player, x_axis, y_axis, created_at)
+                SELECT gen_random_uuid(), g.id,
+                       CASE WHEN n %% 2 = 0 THEN 'X' ELSE 'O' END,
+                       n / 3, n %% 3,
+                       g.created_at + n * interval '1 second'
+                  FROM game g CROSS JOIN generate_series(0, %d) n
+                """.formatted(MOVES_PER_GAME - 1));
+        jdbc.execute("ANALYZE");
+        System.out.printf("seeded %d moves in %d ms%n",
+                jdbc.queryForObject("SELECT count(*) FROM move", Long.class),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long[] measure(JdbcTemplate jdbc, List<UUID> gameIds, String movesQuery) {
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            load(jdbc, randomGame(gameIds), movesQuery);
+        }
+
+        long[] latencies = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            UUID gameId = randomGame(gameIds);
+            long start = System.nanoTime();
+            load(jdbc, gameId, movesQuery);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static void load(JdbcTemplate jdbc, UUID gameId, String movesQuery) {
+        jdbc.queryForMap(GAME_QUERY, gameId);
+        jdbc.queryForList(movesQuery, gameId);
+    }
+
+    private static UUID randomGame(List<UUID> gameIds) {
+        return gameIds.get(ThreadLocalRandom.current().nextInt(gameIds.size()));
+    }
+
+    private static void report(String label, long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.printf("%s: p50=%.3f ms p99=%.3f ms%n", label,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[(int) (latencies.length * 0.99)] / 1e6);
+    }
+}
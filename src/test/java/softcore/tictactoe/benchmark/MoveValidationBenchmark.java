@@ -0,0 +1,124 @@
+package softcore.tictactoe.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.support.TransactionOperations;
+import softcore.tictactoe.api.model.MakeMoveCommand;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.cache.GameCacheProperties;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.lock.GameLockManager;
+import softcore.tictactoe.domain.mailbox.GameMailboxProperties;
+import softcore.tictactoe.domain.mailbox.GameMailboxes;
+import softcore.tictactoe.domain.metrics.GameMetrics;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.MoveBatchDto;
+import softcore.tictactoe.domain.reaper.GameReaperProperties;
+import softcore.tictactoe.domain.reaper.IdleGameReaper;
+import softcore.tictactoe.domain.service.GameBulkProperties;
+import softcore.tictactoe.domain.service.GameService;
+import softcore.tictactoe.domain.service.GameSnapshotProperties;
+import softcore.tictactoe.persistance.repository.GameArchiveRepository;
+import softcore.tictactoe.persistance.repository.GameRepository;
+import softcore.tictactoe.persistance.repository.GameSnapshotBatchRepository;
+import softcore.tictactoe.persistance.repository.GameSnapshotRepository;
+import softcore.tictactoe.persistance.repository.MoveBatchRepository;
+import softcore.tictactoe.persistance.repository.MoveRepository;
+import softcore.tictactoe.persistance.writebehind.WriteBehindMoveWriter;
+import softcore.tictactoe.persistance.writebehind.WriteBehindProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move validation (GameService.validateGameState) on a cached game. Every command is
+ * rejected, so the batch never reaches the repositories and only the cache lookup,
+ * the checks and the rejection exceptions are measured. GameService is wired by a small
+ * Spring context in which persistence is mocked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveValidationBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private GameService gameService;
+    private UUID gameId;
+    private List<MakeMoveCommand> wrongTurn;
+    private List<MakeMoveCommand> outOfBounds;
+    private List<MakeMoveCommand> occupied;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(GameCacheProperties.class,
+                () -> new GameCacheProperties(1_000, Duration.ofHours(1), Duration.ofHours(1)));
+        context.registerBean(GameBulkProperties.class, () -> new GameBulkProperties(1, 1, 1));
+        context.registerBean(GameSnapshotProperties.class, () -> new GameSnapshotProperties(16));
+        context.registerBean(WriteBehindProperties.class, () -> new WriteBehindProperties(
+                false, Duration.ofMillis(50), 1, 1, Duration.ZERO, Duration.ZERO));
+        context.registerBean(GameReaperProperties.class, () -> new GameReaperProperties(
+                false, Duration.ofHours(1), Duration.ofSeconds(1), 1));
+        context.registerBean(GameMailboxProperties.class, () -> new GameMailboxProperties(false));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(TransactionOperations.class, TransactionOperations::withoutTransaction);
+        registerMock(EntityManager.class);
+        registerMock(GameRepository.class);
+        registerMock(MoveRepository.class);
+        registerMock(MoveBatchRepository.class);
+        registerMock(GameSnapshotRepository.class);
+        registerMock(GameSnapshotBatchRepository.class);
+        registerMock(GameArchiveRepository.class);
+        registerMock(IdleGameReaper.class);
+        context.register(GameStateCache.class, GameMetrics.class, GameLockManager.class, WriteBehindMoveWriter.class,
+                GameMailboxes.class, GameService.class);
+        context.refresh();
+        gameService = context.getBean(GameService.class);
+
+        gameId = UUID.randomUUID();
+        GameBoard board = GameBoard.empty()
+                .place(0, 0, PlayerSymbol.X)
+                .place(1, 1, PlayerSymbol.O);
+        context.getBean(GameStateCache.class)
+                .putLoaded(new GameDto(gameId, GameStatus.IN_PROGRESS, PlayerSymbol.X, null, board));
+
+        wrongTurn = List.of(new MakeMoveCommand(gameId, 2, 2, PlayerSymbol.O));
+        outOfBounds = List.of(new MakeMoveCommand(gameId, 3, 0, PlayerSymbol.X));
+        occupied = List.of(new MakeMoveCommand(gameId, 1, 1, PlayerSymbol.X));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MoveBatchDto wrongTurn() {
+        return gameService.makeMoves(gameId, wrongTurn);
+    }
+
+    @Benchmark
+    public MoveBatchDto outOfBounds() {
+        return gameService.makeMoves(gameId, outOfBounds);
+    }
+
+    @Benchmark
+    public MoveBatchDto positionTaken() {
+        return gameService.makeMoves(gameId, occupied);
+    }
+
+    private <T> void registerMock(Class<T> type) {
+        context.registerBean(type, () -> Mockito.mock(type));
+    }
+}
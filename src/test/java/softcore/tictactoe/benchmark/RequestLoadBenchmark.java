@@ -0,0 +1,128 @@
+package softcore.tictactoe.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import softcore.tictactoe.TicTacToeApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds how many requests can be in flight before p99 latency exceeds the target
+ * (first argument in milliseconds, default 100), once with Tomcat on platform threads
+ * and once with spring.threads.virtual.enabled.
+ * Run with -Djdk.tracePinnedThreads=short to report any carrier-thread pinning.
+ */
+public class RequestLoadBenchmark {
+
+    private static final Duration DEFAULT_TARGET_P99 = Duration.ofMillis(100);
+    private static final Duration STEP_DURATION = Duration.ofSeconds(10);
+    private static final int[] CONCURRENCY_LEVELS = {25, 50, 100, 200, 400, 800, 1600};
+    private static final Pattern GAME_ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Duration targetP99 = args.length > 0 ? Duration.ofMillis(Long.parseLong(args[0])) : DEFAULT_TARGET_P99;
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest")) {
+            postgres.start();
+            for (boolean virtualThreads : new boolean[] {false, true}) {
+                try (ConfigurableApplicationContext app = startApplication(postgres, virtualThreads)) {
+                    String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+                    run(baseUrl, virtualThreads ? "virtual threads" : "platform threads", targetP99);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(PostgreSQLContainer<?> postgres, boolean virtualThreads) {
+        return new SpringApplicationBuilder(TicTacToeApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.docker.compose.enabled=false");
+    }
+
+    private static void run(String baseUrl, String mode, Duration targetP99) throws InterruptedException {
+        int sustained = 0;
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            long[] latencies = runStep(baseUrl, concurrency);
+            double p99 = percentile(latencies, 0.99) / 1e6;
+            System.out.printf("%s: in-flight=%d requests=%d p50=%.1f ms p99=%.1f ms%n",
+                    mode, concurrency, latencies.length, percentile(latencies, 0.5) / 1e6, p99);
+            if (p99 > targetP99.toMillis()) {
+                break;
+            }
+            sustained = concurrency;
+        }
+        System.out.printf("%s: max in-flight requests at p99 <= %d ms: %d%n", mode, targetP99.toMillis(), sustained);
+    }
+
+    private static long[] runStep(String baseUrl, int concurrency) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<List<Long>> perClient = new ArrayList<>();
+
+        try (HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                List<Long> latencies = new ArrayList<>();
+                perClient.add(latencies);
+                clients.submit(() -> playGames(http, baseUrl, running, latencies));
+            }
+            Thread.sleep(STEP_DURATION.toMillis());
+            running.set(false);
+        }
+
+        return perClient.stream().flatMap(List::stream).mapToLong(Long::longValue).toArray();
+    }
+
+    private static Void playGames(HttpClient http, String baseUrl, AtomicBoolean running, List<Long> latencies) throws Exception {
+        while (running.get()) {
+            String created = timed(http, post(baseUrl + "/api/games", ""), latencies);
+            Matcher matcher = GAME_ID.matcher(created);
+            if (!matcher.find()) {
+                continue;
+            }
+            String gameUrl = baseUrl + "/api/games/" + matcher.group(1);
+            timed(http, post(gameUrl + "/move", "{\"x\":1,\"y\":1,\"player\":\"X\"}"), latencies);
+            timed(http, HttpRequest.newBuilder(URI.create(gameUrl)).GET().build(), latencies);
+        }
+        return null;
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String timed(HttpClient http, HttpRequest request, List<Long> latencies) throws Exception {
+        long start = System.nanoTime();
+        String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        latencies.add(System.nanoTime() - start);
+        return body;
+    }
+
+    private static long percentile(long[] values, double percentile) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))];
+    }
+}
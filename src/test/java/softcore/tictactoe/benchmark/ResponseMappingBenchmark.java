@@ -0,0 +1,77 @@
+package softcore.tictactoe.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import softcore.tictactoe.api.model.CompactGameResponse;
+import softcore.tictactoe.api.model.GameDetailsResponse;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a mid-game state from snapshot columns to GameDto to GameDetailsResponse and
+ * its JSON serialization, i.e. everything GET /api/games/{id} does besides the cache lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private UUID id;
+    private byte[] xCells;
+    private byte[] oCells;
+    private GameDto game;
+    private GameDetailsResponse response;
+
+    @Setup
+    public void setUp() {
+        GameBoard board = GameBoard.empty()
+                .place(0, 0, PlayerSymbol.X)
+                .place(1, 1, PlayerSymbol.O)
+                .place(0, 1, PlayerSymbol.X)
+                .place(2, 2, PlayerSymbol.O);
+
+        id = UUID.randomUUID();
+        xCells = board.xCellBytes();
+        oCells = board.oCellBytes();
+        game = gameDtoFromSnapshot();
+        response = GameDetailsResponse.from(game);
+    }
+
+    @Benchmark
+    public GameDto gameDtoFromSnapshot() {
+        return new GameDto(id, null, GameBoard.CLASSIC_SIZE, GameBoard.CLASSIC_SIZE, null, null,
+                GameStatus.IN_PROGRESS, PlayerSymbol.X, xCells, oCells);
+    }
+
+    @Benchmark
+    public GameDetailsResponse detailsResponseFromDto() {
+        return GameDetailsResponse.from(game);
+    }
+
+    @Benchmark
+    public byte[] serializeDetailsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeCompactResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new CompactGameResponse(game));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GameDetailsResponse.from(gameDtoFromSnapshot()));
+    }
+}
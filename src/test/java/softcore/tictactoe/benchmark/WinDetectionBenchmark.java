@@ -0,0 +1,90 @@
+package softcore.tictactoe.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.MoveDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinDetectionBenchmark {
+
+    private List<MoveDto> moves;
+    private MoveDto lastMove;
+    private GameBoard board;
+
+    @Setup
+    public void setUp() {
+        moves = List.of(
+                move(0, 0, PlayerSymbol.X),
+                move(1, 1, PlayerSymbol.O),
+                move(0, 1, PlayerSymbol.X),
+                move(2, 2, PlayerSymbol.O),
+                move(1, 0, PlayerSymbol.X),
+                move(2, 0, PlayerSymbol.O),
+                move(1, 2, PlayerSymbol.X)
+        );
+        lastMove = moves.getLast();
+        board = board(moves);
+    }
+
+    @Benchmark
+    public boolean streamScan() {
+        return hasPlayerWon(moves, lastMove);
+    }
+
+    // GameBoard.isWinningMove: the four lines through the last move, on the cell bitsets
+    @Benchmark
+    public boolean directionScan() {
+        return board.isWinningMove(lastMove.xAxis(), lastMove.yAxis(), lastMove.player());
+    }
+
+    @Benchmark
+    public boolean directionScanIncludingBuild() {
+        return board(moves).isWinningMove(lastMove.xAxis(), lastMove.yAxis(), lastMove.player());
+    }
+
+    // Previous GameService.hasPlayerWon, kept as the baseline.
+    private static boolean hasPlayerWon(List<MoveDto> moves, MoveDto lastMove) {
+        PlayerSymbol player = lastMove.player();
+        int x = lastMove.xAxis();
+        int y = lastMove.yAxis();
+
+        List<MoveDto> playerMoves = moves.stream()
+                .filter(m -> m.player() == player)
+                .toList();
+
+        boolean rowWin = playerMoves.stream().filter(m -> m.xAxis() == x).count() == 3;
+
+        boolean colWin = playerMoves.stream().filter(m -> m.yAxis() == y).count() == 3;
+
+        boolean isOnMainDiagonal = x == y;
+        boolean mainDiagonalWin = isOnMainDiagonal &&
+                playerMoves.stream().filter(m -> m.xAxis() == m.yAxis()).count() == 3;
+
+        boolean isOnAntiDiagonal = x + y == 2;
+        boolean antiDiagonalWin = isOnAntiDiagonal &&
+                playerMoves.stream().filter(m -> m.xAxis() + m.yAxis() == 2).count() == 3;
+
+        return rowWin || colWin || mainDiagonalWin || antiDiagonalWin;
+    }
+
+    private static GameBoard board(List<MoveDto> moves) {
+        GameBoard board = GameBoard.empty();
+        for (MoveDto move : moves) {
+            board = board.place(move.xAxis(), move.yAxis(), move.player());
+        }
+        return board;
+    }
+
+    private static MoveDto move(int x, int y, PlayerSymbol player) {
+        return new MoveDto(x, y, player);
+    }
+}
@@ -0,0 +1,93 @@
+package softcore.tictactoe.domain.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameStateCacheTest {
+
+    private static final UUID GAME_ID = UUID.randomUUID();
+
+    private final GameStateCache gameStateCache = new GameStateCache(
+            new GameCacheProperties(1000, Duration.ofMinutes(10), Duration.ofMinutes(10)));
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldNotServeStateBeforeItsTransactionCommits() {
+        // given
+        gameStateCache.putLoaded(game(GameBoard.empty()));
+        GameDto moved = game(GameBoard.empty().place(0, 0, PlayerSymbol.X));
+
+        // when
+        gameStateCache.write(moved);
+        GameDto beforeCommit = gameStateCache.get(GAME_ID);
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations());
+
+        // then
+        assertThat(beforeCommit).isNull();
+        assertThat(gameStateCache.get(GAME_ID)).isEqualTo(moved);
+    }
+
+    @Test
+    void shouldNotCacheStateOfRolledBackTransaction() {
+        // given
+        gameStateCache.write(game(GameBoard.empty().place(0, 0, PlayerSymbol.X)));
+
+        // when
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                synchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        assertThat(gameStateCache.get(GAME_ID)).isNull();
+    }
+
+    @Test
+    void shouldKeepLaterMoveCachedBeforeSlowerCommit() {
+        // given
+        GameDto first = game(GameBoard.empty().place(0, 0, PlayerSymbol.X));
+        GameDto second = game(first.board().place(1, 1, PlayerSymbol.O));
+        gameStateCache.write(first);
+        List<TransactionSynchronization> slowCommit = synchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        gameStateCache.write(second);
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations());
+
+        // when
+        TransactionSynchronizationUtils.invokeAfterCommit(slowCommit);
+
+        // then
+        assertThat(gameStateCache.get(GAME_ID)).isEqualTo(second);
+    }
+
+    private static List<TransactionSynchronization> synchronizations() {
+        return TransactionSynchronizationManager.getSynchronizations();
+    }
+
+    private static GameDto game(GameBoard board) {
+        return new GameDto(GAME_ID, GameStatus.IN_PROGRESS, board.moveCount() % 2 == 0 ? PlayerSymbol.X : PlayerSymbol.O,
+                null, board);
+    }
+}
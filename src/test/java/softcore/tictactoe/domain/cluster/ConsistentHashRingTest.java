@@ -0,0 +1,65 @@
+package softcore.tictactoe.domain.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int GAMES = 100_000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void shouldSpreadGamesEvenlyOverNodes() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), VIRTUAL_NODES);
+
+        // when
+        Map<String, Integer> owned = new HashMap<>();
+        for (UUID gameId : gameIds()) {
+            owned.merge(ring.ownerOf(gameId), 1, Integer::sum);
+        }
+
+        // then
+        assertThat(owned).hasSize(4);
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(GAMES / 4 * 8 / 10, GAMES / 4 * 12 / 10));
+    }
+
+    @Test
+    void shouldOnlyMoveGamesToAddedNode() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("c", "b", "a", "d"), VIRTUAL_NODES);
+
+        // when
+        int moved = 0;
+        for (UUID gameId : gameIds()) {
+            String owner = after.ownerOf(gameId);
+            if (!owner.equals(before.ownerOf(gameId))) {
+                assertThat(owner).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        // then
+        assertThat(moved).isBetween(GAMES / 4 * 8 / 10, GAMES / 4 * 12 / 10);
+    }
+
+    @Test
+    void shouldRejectEmptyCluster() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<UUID> gameIds() {
+        Random random = new Random(42);
+        return random.longs(GAMES).mapToObj(bits -> new UUID(bits, random.nextLong())).toList();
+    }
+}
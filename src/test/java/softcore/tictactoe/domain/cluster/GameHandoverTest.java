@@ -0,0 +1,81 @@
+package softcore.tictactoe.domain.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softcore.tictactoe.domain.cache.GameCacheProperties;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.persistance.writebehind.WriteBehindMoveWriter;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameHandoverTest {
+
+    private static final UUID KEPT_GAME = UUID.randomUUID();
+    private static final UUID MOVED_GAME = UUID.randomUUID();
+
+    @Mock
+    private GameOwnership gameOwnership;
+
+    @Mock
+    private WriteBehindMoveWriter moveWriter;
+
+    private final GameStateCache gameStateCache = new GameStateCache(
+            new GameCacheProperties(1000, Duration.ofMinutes(10), Duration.ofMinutes(10)));
+
+    @Test
+    void shouldFlushAndEvictGamesOwnedElsewhereOnceMembersChange() {
+        // given
+        GameHandover handover = new GameHandover(gameOwnership, gameStateCache, moveWriter);
+        Map<String, URI> before = Map.of("a", URI.create("http://a"), "b", URI.create("http://b"));
+        Map<String, URI> after = Map.of("a", URI.create("http://a"), "c", URI.create("http://c"));
+        when(gameOwnership.isEnabled()).thenReturn(true);
+        when(gameOwnership.members()).thenReturn(before, before, after);
+        when(moveWriter.isEnabled()).thenReturn(true);
+        handover.handOverMovedGames();
+        handover.handOverMovedGames();
+        gameStateCache.putLoaded(game(KEPT_GAME));
+        gameStateCache.putLoaded(game(MOVED_GAME));
+        when(gameOwnership.isLocal(KEPT_GAME)).thenReturn(true);
+        when(gameOwnership.isLocal(MOVED_GAME)).thenReturn(false);
+
+        // when
+        handover.handOverMovedGames();
+
+        // then
+        assertThat(gameStateCache.get(KEPT_GAME)).isNotNull();
+        assertThat(gameStateCache.get(MOVED_GAME)).isNull();
+        verify(moveWriter, times(2)).flush();
+    }
+
+    @Test
+    void shouldDoNothingWithClusteringDisabled() {
+        // given
+        GameHandover handover = new GameHandover(gameOwnership, gameStateCache, moveWriter);
+        gameStateCache.putLoaded(game(MOVED_GAME));
+
+        // when
+        handover.handOverMovedGames();
+
+        // then
+        assertThat(gameStateCache.get(MOVED_GAME)).isNotNull();
+        verify(moveWriter, never()).flush();
+    }
+
+    private static GameDto game(UUID id) {
+        return new GameDto(id, null, GameBoard.CLASSIC_SIZE, GameBoard.CLASSIC_SIZE, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,74 @@
+package softcore.tictactoe.domain.engine;
+
+import org.junit.jupiter.api.Test;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiMovesTest {
+
+    @Test
+    void shouldNeverLoseAgainstAnySequenceOfMoves() {
+        assertNeverLoses(GameBoard.empty(), PlayerSymbol.X, PlayerSymbol.O);
+        assertNeverLoses(GameBoard.empty(), PlayerSymbol.X, PlayerSymbol.X);
+    }
+
+    @Test
+    void shouldTakeImmediateWin() {
+        GameBoard board = GameBoard.empty()
+                .place(0, 0, PlayerSymbol.X).place(1, 0, PlayerSymbol.O)
+                .place(0, 1, PlayerSymbol.X).place(1, 1, PlayerSymbol.O);
+
+        assertThat(AiMoves.bestCell(board)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBlockOpponentsWin() {
+        GameBoard board = GameBoard.empty()
+                .place(0, 0, PlayerSymbol.X).place(1, 1, PlayerSymbol.O)
+                .place(0, 1, PlayerSymbol.X);
+
+        assertThat(AiMoves.bestCell(board)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnNoMoveWhenGameIsOver() {
+        GameBoard board = GameBoard.empty()
+                .place(0, 0, PlayerSymbol.X).place(1, 0, PlayerSymbol.O)
+                .place(0, 1, PlayerSymbol.X).place(1, 1, PlayerSymbol.O)
+                .place(0, 2, PlayerSymbol.X);
+
+        assertThat(AiMoves.bestCell(board)).isEqualTo(AiMoves.NO_MOVE);
+    }
+
+    private void assertNeverLoses(GameBoard board, PlayerSymbol toMove, PlayerSymbol aiPlayer) {
+        PlayerSymbol next = toMove == PlayerSymbol.X ? PlayerSymbol.O : PlayerSymbol.X;
+
+        if (toMove == aiPlayer) {
+            int cell = AiMoves.bestCell(board);
+            assertThat(cell).isEqualTo(AiMoves.searchBestCell(board));
+            int x = cell / GameBoard.CLASSIC_SIZE;
+            int y = cell % GameBoard.CLASSIC_SIZE;
+            GameBoard after = board.place(x, y, aiPlayer);
+            if (after.statusAfterMove(x, y, aiPlayer) == GameStatus.IN_PROGRESS) {
+                assertNeverLoses(after, next, aiPlayer);
+            }
+            return;
+        }
+
+        for (int x = 0; x < GameBoard.CLASSIC_SIZE; x++) {
+            for (int y = 0; y < GameBoard.CLASSIC_SIZE; y++) {
+                if (board.isOccupied(x, y)) {
+                    continue;
+                }
+                GameBoard after = board.place(x, y, toMove);
+                GameStatus status = after.statusAfterMove(x, y, toMove);
+                assertThat(status).isNotIn(GameStatus.X_WINS, GameStatus.O_WINS);
+                if (status == GameStatus.IN_PROGRESS) {
+                    assertNeverLoses(after, next, aiPlayer);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package softcore.tictactoe.domain.engine;
+
+import org.junit.jupiter.api.Test;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameBoardTest {
+
+    @Test
+    void shouldDetectEveryWinningLine() {
+        int[][][] lines = {
+                {{0, 0}, {0, 1}, {0, 2}}, {{1, 0}, {1, 1}, {1, 2}}, {{2, 0}, {2, 1}, {2, 2}},
+                {{0, 0}, {1, 0}, {2, 0}}, {{0, 1}, {1, 1}, {2, 1}}, {{0, 2}, {1, 2}, {2, 2}},
+                {{0, 0}, {1, 1}, {2, 2}}, {{0, 2}, {1, 1}, {2, 0}}
+        };
+
+        for (int[][] line : lines) {
+            GameBoard board = GameBoard.empty();
+            GameStatus status = null;
+            for (int[] cell : line) {
+                assertThat(status).isNotEqualTo(GameStatus.O_WINS);
+                board = board.place(cell[0], cell[1], PlayerSymbol.O);
+                status = board.statusAfterMove(cell[0], cell[1], PlayerSymbol.O);
+            }
+            assertThat(status).isEqualTo(GameStatus.O_WINS);
+            assertThat(board.isWinningMove(line[1][0], line[1][1], PlayerSymbol.O)).isTrue();
+            assertThat(board.isWinningMove(line[1][0], line[1][1], PlayerSymbol.X)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldTrackOccupancyAndDraw() {
+        GameBoard board = GameBoard.empty()
+                .place(0, 0, PlayerSymbol.O).place(0, 1, PlayerSymbol.X).place(0, 2, PlayerSymbol.O)
+                .place(1, 0, PlayerSymbol.X).place(1, 1, PlayerSymbol.X).place(1, 2, PlayerSymbol.O)
+                .place(2, 0, PlayerSymbol.X).place(2, 1, PlayerSymbol.O);
+
+        assertThat(board.isOccupied(1, 1)).isTrue();
+        assertThat(board.isOccupied(2, 2)).isFalse();
+        assertThat(board.playerAt(1, 0)).isEqualTo(PlayerSymbol.X);
+        assertThat(board.moveCount()).isEqualTo(8);
+
+        GameBoard full = board.place(2, 2, PlayerSymbol.X);
+
+        assertThat(full.isFull()).isTrue();
+        assertThat(full.statusAfterMove(2, 2, PlayerSymbol.X)).isEqualTo(GameStatus.DRAW);
+    }
+
+    @Test
+    void shouldRequireWinLengthInARowOnLargerBoard() {
+        GameBoard board = GameBoard.empty(15, 5);
+        for (int i = 0; i < 4; i++) {
+            board = board.place(10 + i, 14 - i, PlayerSymbol.X);
+            assertThat(board.statusAfterMove(10 + i, 14 - i, PlayerSymbol.X)).isEqualTo(GameStatus.IN_PROGRESS);
+        }
+
+        board = board.place(14, 10, PlayerSymbol.X);
+
+        assertThat(board.statusAfterMove(14, 10, PlayerSymbol.X)).isEqualTo(GameStatus.X_WINS);
+        assertThat(board.isWithinBounds(14, 14)).isTrue();
+        assertThat(board.isWithinBounds(15, 0)).isFalse();
+    }
+
+    @Test
+    void shouldRoundTripCellBytes() {
+        GameBoard board = GameBoard.empty(100, 5)
+                .place(0, 0, PlayerSymbol.X)
+                .place(99, 99, PlayerSymbol.O)
+                .place(50, 17, PlayerSymbol.X);
+
+        GameBoard restored = GameBoard.of(100, 5, board.xCellBytes(), board.oCellBytes());
+
+        assertThat(restored).isEqualTo(board);
+        assertThat(restored.moveCount()).isEqualTo(3);
+        assertThat(restored.playerAt(99, 99)).isEqualTo(PlayerSymbol.O);
+    }
+
+    @Test
+    void shouldRejectInvalidDimensions() {
+        assertThatThrownBy(() -> GameBoard.empty(101, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GameBoard.empty(5, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
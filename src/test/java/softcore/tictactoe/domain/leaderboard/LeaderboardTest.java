@@ -0,0 +1,98 @@
+package softcore.tictactoe.domain.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softcore.tictactoe.domain.model.dto.PlayerStatsDto;
+import softcore.tictactoe.persistance.repository.PlayerStatsRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Test
+    void shouldRankByWinsAndKeepOnlyTheBestPlayers() {
+        // given
+        Leaderboard leaderboard = leaderboard(2);
+
+        // when
+        leaderboard.offer(stats("alice", 3, 1));
+        leaderboard.offer(stats("bob", 5, 0));
+        leaderboard.offer(stats("carol", 1, 0));
+        leaderboard.offer(stats("dave", 3, 0));
+
+        // then
+        assertThat(leaderboard.top(10)).extracting(PlayerStatsDto::playerId).containsExactly("bob", "alice");
+        assertThat(leaderboard.top(1)).extracting(PlayerStatsDto::playerId).containsExactly("bob");
+    }
+
+    @Test
+    void shouldIgnoreStatsOlderThanTheHeldOnes() {
+        // given
+        Leaderboard leaderboard = leaderboard(10);
+        leaderboard.offer(stats("alice", 4, 2));
+
+        // when
+        leaderboard.offer(stats("alice", 3, 2));
+        leaderboard.offer(stats("alice", 4, 3));
+
+        // then
+        assertThat(leaderboard.top(10)).containsExactly(stats("alice", 4, 3));
+    }
+
+    @Test
+    void shouldPickUpResultsRecordedElsewhereOnRefresh() {
+        // given
+        Leaderboard leaderboard = leaderboard(10);
+        leaderboard.offer(stats("alice", 2, 0));
+        when(playerStatsRepository.findTopByWins(10)).thenReturn(List.of(stats("bob", 6, 1), stats("alice", 2, 0)));
+
+        // when
+        leaderboard.refresh();
+
+        // then
+        assertThat(leaderboard.top(10)).extracting(PlayerStatsDto::playerId).containsExactly("bob", "alice");
+    }
+
+    @Test
+    void shouldKeepTheBestPlayersUnderConcurrentOffers() throws InterruptedException {
+        // given
+        Leaderboard leaderboard = leaderboard(10);
+        List<Thread> threads = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int wins = offset; wins < 2_000; wins += 8) {
+                    leaderboard.offer(stats("player-" + wins, wins, 0));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(leaderboard.top(100)).extracting(PlayerStatsDto::wins)
+                .containsExactly(1999, 1998, 1997, 1996, 1995, 1994, 1993, 1992, 1991, 1990);
+    }
+
+    private Leaderboard leaderboard(int size) {
+        return new Leaderboard(new LeaderboardProperties(size, Duration.ofSeconds(30)), playerStatsRepository);
+    }
+
+    private static PlayerStatsDto stats(String playerId, int wins, int losses) {
+        return new PlayerStatsDto(playerId, wins, losses, 0, 0, wins);
+    }
+}
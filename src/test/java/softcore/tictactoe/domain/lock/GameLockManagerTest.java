@@ -0,0 +1,86 @@
+package softcore.tictactoe.domain.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import softcore.tictactoe.domain.metrics.GameMetrics;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameLockManagerTest {
+
+    private static final int GAME_COUNT = 10_000_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 16 * 1024 * 1024;
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+
+    private final GameLockManager lockManager = new GameLockManager(new GameMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void shouldKeepHeapFlatForManyDistinctGames() {
+        long heapBefore = usedHeapAfterGc();
+
+        long executed = 0;
+        for (long i = 0; i < GAME_COUNT; i++) {
+            UUID gameId = new UUID(i * 0x9E3779B97F4A7C15L, i);
+            executed += lockManager.executeWithLock(gameId, TIMEOUT, () -> 1);
+        }
+
+        long heapAfter = usedHeapAfterGc();
+
+        assertThat(executed).isEqualTo(GAME_COUNT);
+        assertThat(heapAfter - heapBefore).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    @Test
+    void shouldTimeOutWhenGameIsLockedByAnotherThread() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<?> holder = executor.submit(() -> lockManager.executeWithLock(gameId, TIMEOUT, () -> {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            locked.await();
+
+            assertThatThrownBy(() -> lockManager.executeWithLock(gameId, TIMEOUT, () -> null))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("busy");
+
+            release.countDown();
+            holder.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldMapSameGameToSameStripe() {
+        UUID gameId = UUID.randomUUID();
+        UUID sameGame = UUID.fromString(gameId.toString());
+
+        assertThat(lockManager.lockFor(gameId)).isSameAs(lockManager.lockFor(sameGame));
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,105 @@
+package softcore.tictactoe.domain.mailbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import softcore.tictactoe.api.model.MakeMoveCommand;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GameDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameMailboxesTest {
+
+    private static final UUID GAME_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final GameMailboxes mailboxes = new GameMailboxes(new GameMailboxProperties(true));
+
+    @BeforeEach
+    void setUp() {
+        mailboxes.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailboxes.stop();
+    }
+
+    @Test
+    void shouldBatchMovesQueuedWhileGameIsBusy() throws InterruptedException {
+        // given
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        GameMailboxes.MoveProcessor processor = (gameId, moves) -> {
+            firstBatchStarted.countDown();
+            await(releaseFirstBatch);
+            batches.add(moves.stream().map(move -> move.command().x()).toList());
+            moves.forEach(move -> move.result().complete(null));
+        };
+        CompletableFuture<GameDto> first = mailboxes.submit(GAME_ID, List.of(move(0)), processor).getFirst();
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        List<CompletableFuture<GameDto>> queued = new ArrayList<>();
+        queued.addAll(mailboxes.submit(GAME_ID, List.of(move(1)), processor));
+        queued.addAll(mailboxes.submit(GAME_ID, List.of(move(2), move(3)), processor));
+        releaseFirstBatch.countDown();
+
+        // then
+        CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).join();
+        assertThat(first).isDone();
+        assertThat(batches).containsExactly(List.of(0), List.of(1, 2, 3));
+    }
+
+    @Test
+    void shouldFailWholeBatchWhenProcessorThrows() {
+        // when
+        List<CompletableFuture<GameDto>> results = mailboxes.submit(GAME_ID, List.of(move(0), move(1)),
+                (gameId, moves) -> {
+                    throw new IllegalStateException("Write-behind queue is full");
+                });
+
+        // then
+        for (CompletableFuture<GameDto> result : results) {
+            assertThatThrownBy(result::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasRootCauseMessage("Write-behind queue is full");
+        }
+    }
+
+    @Test
+    void shouldRejectMovesOnceStopped() {
+        // given
+        mailboxes.stop();
+
+        // when
+        CompletableFuture<GameDto> result = mailboxes.submit(GAME_ID, List.of(move(0)),
+                (gameId, moves) -> moves.forEach(move -> move.result().complete(null))).getFirst();
+
+        // then
+        assertThatThrownBy(result::join).hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static MakeMoveCommand move(int x) {
+        return new MakeMoveCommand(GAME_ID, x, 0, PlayerSymbol.X);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package softcore.tictactoe.domain.matchmaking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import softcore.tictactoe.common.enums.MatchStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.service.GameService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatchmakerTest {
+
+    @Mock
+    private GameService gameService;
+
+    @Test
+    void shouldPairPlayersOfOneBucketInArrivalOrder() {
+        // given
+        Matchmaker matchmaker = matchmaker(Duration.ofHours(1));
+        when(gameService.createGames(anyList())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        MatchTicket first = matchmaker.enqueue("alice", 1410);
+        MatchTicket second = matchmaker.enqueue("bob", 1490);
+        MatchTicket third = matchmaker.enqueue("carol", 1450);
+
+        // when
+        matchmaker.pairWaitingPlayers();
+
+        // then
+        verify(gameService).createGames(List.of(new GamePlayers("alice", "bob")));
+        assertThat(first.status()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(first.match().player()).isEqualTo(PlayerSymbol.X);
+        assertThat(first.match().opponentId()).isEqualTo("bob");
+        assertThat(second.match().player()).isEqualTo(PlayerSymbol.O);
+        assertThat(second.match().gameId()).isEqualTo(first.match().gameId());
+        assertThat(third.status()).isEqualTo(MatchStatus.WAITING);
+    }
+
+    @Test
+    void shouldSkipPlayersWhoLeftTheLobby() {
+        // given
+        Matchmaker matchmaker = matchmaker(Duration.ofHours(1));
+        when(gameService.createGames(anyList())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        MatchTicket first = matchmaker.enqueue("alice", null);
+        MatchTicket second = matchmaker.enqueue("bob", null);
+        MatchTicket third = matchmaker.enqueue("carol", null);
+        matchmaker.cancel(second.id());
+
+        // when
+        matchmaker.pairWaitingPlayers();
+
+        // then
+        assertThat(second.status()).isEqualTo(MatchStatus.CANCELLED);
+        assertThat(first.match().opponentId()).isEqualTo("carol");
+        assertThat(third.match().opponentId()).isEqualTo("alice");
+    }
+
+    @Test
+    void shouldPairNeighbouringBucketsOnlyAfterWidenAfter() {
+        // given
+        Matchmaker patient = matchmaker(Duration.ofHours(1));
+        Matchmaker eager = matchmaker(Duration.ofNanos(1));
+        when(gameService.createGames(anyList())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        MatchTicket waiting = patient.enqueue("alice", 1450);
+        patient.enqueue("bob", 1550);
+        MatchTicket widened = eager.enqueue("carol", 1450);
+        eager.enqueue("dave", 1550);
+        MatchTicket unrated = eager.enqueue("erin", null);
+
+        // when
+        patient.pairWaitingPlayers();
+        eager.pairWaitingPlayers();
+
+        // then
+        assertThat(waiting.status()).isEqualTo(MatchStatus.WAITING);
+        assertThat(widened.match().opponentId()).isEqualTo("dave");
+        assertThat(unrated.status()).isEqualTo(MatchStatus.WAITING);
+    }
+
+    @Test
+    void shouldPutPlayersBackWhenGamesCannotBeStarted() {
+        // given
+        Matchmaker matchmaker = matchmaker(Duration.ofHours(1));
+        when(gameService.createGames(anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenAnswer(invocation -> games(invocation.getArgument(0)));
+        MatchTicket first = matchmaker.enqueue("alice", null);
+        MatchTicket second = matchmaker.enqueue("bob", null);
+
+        // when
+        matchmaker.pairWaitingPlayers();
+        MatchStatus afterFailure = first.status();
+        matchmaker.pairWaitingPlayers();
+
+        // then
+        assertThat(afterFailure).isEqualTo(MatchStatus.WAITING);
+        assertThat(first.status()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(second.match().gameId()).isEqualTo(first.match().gameId());
+    }
+
+    @Test
+    void shouldKeepOneOpenTicketPerPlayer() {
+        // given
+        Matchmaker matchmaker = matchmaker(Duration.ofHours(1));
+        MatchTicket first = matchmaker.enqueue("alice", null);
+
+        // when
+        MatchTicket again = matchmaker.enqueue("alice", null);
+        matchmaker.pairWaitingPlayers();
+        matchmaker.cancel(first.id());
+        MatchTicket rejoined = matchmaker.enqueue("alice", null);
+
+        // then
+        assertThat(again).isSameAs(first);
+        verify(gameService, never()).createGames(anyList());
+        assertThat(rejoined).isNotSameAs(first);
+        assertThat(rejoined.status()).isEqualTo(MatchStatus.WAITING);
+    }
+
+    private Matchmaker matchmaker(Duration widenAfter) {
+        MatchmakingProperties properties = new MatchmakingProperties(
+                true, 100, widenAfter, Duration.ofMillis(50), 500, Duration.ofMinutes(1));
+        return new Matchmaker(properties, gameService, new SimpleMeterRegistry());
+    }
+
+    private static List<GameDto> games(List<GamePlayers> players) {
+        List<GameDto> games = new ArrayList<>(players.size());
+        for (GamePlayers gamePlayers : players) {
+            games.add(new GameDto(UUID.randomUUID(), null, GameBoard.CLASSIC_SIZE, GameBoard.CLASSIC_SIZE,
+                    gamePlayers.x(), gamePlayers.o(), null, null, null, null));
+        }
+        return games;
+    }
+}
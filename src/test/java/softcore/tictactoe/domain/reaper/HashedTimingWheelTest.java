@@ -0,0 +1,121 @@
+package softcore.tictactoe.domain.reaper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final long TIMEOUT = 100;
+
+    private final HashedTimingWheel<String, String> wheel = new HashedTimingWheel<>(TICK, TIMEOUT, 0);
+
+    @Test
+    void shouldExpireKeyOnceItsDeadlinePassed() {
+        // given
+        wheel.schedule("game", "state", 95);
+
+        // when / then
+        assertThat(wheel.advance(94)).isEmpty();
+        assertThat(wheel.advance(100)).containsExactly("state");
+        assertThat(wheel.advance(500)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void shouldPostponeRescheduledKey() {
+        // given
+        wheel.schedule("game", "first", 50);
+        wheel.advance(40);
+
+        // when
+        wheel.schedule("game", "second", 140);
+
+        // then
+        assertThat(wheel.advance(130)).isEmpty();
+        assertThat(wheel.advance(140)).containsExactly("second");
+    }
+
+    @Test
+    void shouldExpireKeysAfterMoreThanOneRotation() {
+        // given
+        wheel.schedule("game", "state", 30);
+
+        // when
+        wheel.advance(20);
+        wheel.schedule("late", "later", 20 + 3 * TIMEOUT);
+
+        // then
+        assertThat(wheel.advance(3 * TIMEOUT)).containsExactly("state");
+        assertThat(wheel.advance(20 + 3 * TIMEOUT)).containsExactly("later");
+    }
+
+    @Test
+    void shouldNotExpireCancelledKey() {
+        // given
+        wheel.schedule("game", "state", 50);
+
+        // when
+        wheel.cancel("game");
+
+        // then
+        assertThat(wheel.advance(TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepRunningDeadlineWhenScheduledIfAbsent() {
+        // given
+        wheel.schedule("game", "moved", 50);
+
+        // when
+        wheel.scheduleIfAbsent("game", "loaded", 90);
+
+        // then
+        assertThat(wheel.advance(50)).containsExactly("moved");
+    }
+
+    @Test
+    void shouldKeepKeyRescheduledWhileAdvanceExpiresIt() {
+        // given
+        HashedTimingWheel<RacingKey, String> racingWheel = new HashedTimingWheel<>(TICK, TIMEOUT, 0);
+        RacingKey key = new RacingKey();
+        racingWheel.schedule(key, "first", 20);
+        key.onBucketRemoval = () -> racingWheel.schedule(key, "second", 20 + TIMEOUT + 2 * TICK);
+
+        // when
+        List<String> expired = racingWheel.advance(20);
+
+        // then
+        assertThat(expired).isEmpty();
+        assertThat(racingWheel.advance(20 + TIMEOUT + 2 * TICK)).containsExactly("second");
+    }
+
+    /**
+     * Runs {@code onBucketRemoval} on another thread while {@code advance} removes the key
+     * from its bucket, after it read the expired timeout: its fourth hash lookup, after
+     * the two of {@code schedule} and the timeout read.
+     */
+    private static final class RacingKey {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile Runnable onBucketRemoval;
+
+        @Override
+        public int hashCode() {
+            if (lookups.incrementAndGet() == 4) {
+                Thread scheduler = new Thread(onBucketRemoval);
+                scheduler.start();
+                try {
+                    scheduler.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return 1;
+        }
+    }
+}
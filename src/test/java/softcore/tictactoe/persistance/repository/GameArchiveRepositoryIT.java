@@ -0,0 +1,115 @@
+package softcore.tictactoe.persistance.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.entity.GameEntity;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
+import softcore.tictactoe.domain.model.entity.MoveEntity;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GameArchiveRepository.class)
+class GameArchiveRepositoryIT extends BaseDatabaseTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private MoveRepository moveRepository;
+
+    @Autowired
+    private GameSnapshotRepository gameSnapshotRepository;
+
+    @Autowired
+    private GameArchiveRepository gameArchiveRepository;
+
+    @Test
+    void shouldMoveFinishedGamesToArchive() {
+        // given
+        GameEntity finished = gameRepository.save(GameEntity.builder().build());
+        GameEntity active = gameRepository.save(GameEntity.builder().build());
+        GameBoard board = GameBoard.empty().place(1, 1, PlayerSymbol.X);
+        moveRepository.save(MoveEntity.builder()
+                .game(finished).seq(1).xAxis(1).yAxis(1).player(PlayerSymbol.X)
+                .build());
+        gameSnapshotRepository.save(GameSnapshotEntity.builder()
+                .game(finished).seq(1).status(GameStatus.X_WINS).playerTurn(PlayerSymbol.X)
+                .xCells(board.xCellBytes()).oCells(board.oCellBytes())
+                .build());
+        gameRepository.flush();
+
+        // when
+        int archived = gameArchiveRepository.archiveFinishedBefore(LocalDateTime.now().plusMinutes(1), 10);
+
+        // then
+        assertThat(archived).isEqualTo(1);
+        assertThat(gameRepository.findStateById(finished.getId())).isEmpty();
+        assertThat(moveRepository.findByGameIdOrderBySeqAsc(finished.getId())).isEmpty();
+        assertThat(gameRepository.findStateById(active.getId())).isPresent();
+
+        GameDto game = gameArchiveRepository.findStateById(finished.getId()).orElseThrow();
+        assertThat(game.status()).isEqualTo(GameStatus.X_WINS);
+        assertThat(game.board()).isEqualTo(board);
+    }
+
+    @Test
+    void shouldKeepGamesFinishedWithinRetention() {
+        // given
+        GameEntity finished = gameRepository.save(GameEntity.builder().build());
+        GameBoard board = GameBoard.empty();
+        gameSnapshotRepository.save(GameSnapshotEntity.builder()
+                .game(finished).seq(0).status(GameStatus.DRAW).playerTurn(PlayerSymbol.X)
+                .xCells(board.xCellBytes()).oCells(board.oCellBytes())
+                .build());
+        gameRepository.flush();
+
+        // when
+        int archived = gameArchiveRepository.archiveFinishedBefore(LocalDateTime.now().minusDays(1), 10);
+
+        // then
+        assertThat(archived).isZero();
+        assertThat(gameArchiveRepository.findStateById(finished.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldArchiveGameWithSeveralFinishedSnapshotsOnce() {
+        // given
+        GameEntity finished = gameRepository.save(GameEntity.builder().build());
+        GameBoard board = GameBoard.empty().place(1, 1, PlayerSymbol.X);
+        moveRepository.save(MoveEntity.builder()
+                .game(finished).seq(1).xAxis(1).yAxis(1).player(PlayerSymbol.X)
+                .build());
+        gameSnapshotRepository.save(GameSnapshotEntity.builder()
+                .game(finished).seq(0).status(GameStatus.DRAW).playerTurn(PlayerSymbol.X)
+                .xCells(GameBoard.empty().xCellBytes()).oCells(GameBoard.empty().oCellBytes())
+                .build());
+        gameSnapshotRepository.save(GameSnapshotEntity.builder()
+                .game(finished).seq(1).status(GameStatus.X_WINS).playerTurn(PlayerSymbol.X)
+                .xCells(board.xCellBytes()).oCells(board.oCellBytes())
+                .build());
+        gameRepository.flush();
+
+        // when
+        int archived = gameArchiveRepository.archiveFinishedBefore(LocalDateTime.now().plusMinutes(1), 10);
+
+        // then
+        assertThat(archived).isEqualTo(1);
+        GameDto game = gameArchiveRepository.findStateById(finished.getId()).orElseThrow();
+        assertThat(game.status()).isEqualTo(GameStatus.X_WINS);
+        assertThat(game.board()).isEqualTo(board);
+    }
+}
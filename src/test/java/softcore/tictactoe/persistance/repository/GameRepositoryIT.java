@@ -6,11 +6,14 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.domain.engine.GameBoard;
+import softcore.tictactoe.domain.model.dto.GameDto;
 import softcore.tictactoe.domain.model.entity.GameEntity;
 import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,22 +25,50 @@ class GameRepositoryIT extends BaseDatabaseTest {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private GameSnapshotRepository gameSnapshotRepository;
+
     @Test
-    void shouldSaveAndLoadGame() {
+    void shouldLoadEmptyBoardForGameWithoutSnapshot() {
         // given
-        GameEntity game = GameEntity.builder()
-                .playerTurn(PlayerSymbol.X)
-                .status(GameStatus.IN_PROGRESS)
-                .build();
+        GameEntity saved = gameRepository.save(GameEntity.builder().boardSize(15).winLength(5).build());
+
+        // when
+        GameDto game = gameRepository.findStateById(saved.getId()).orElseThrow();
+
+        // then
+        assertThat(game.status()).isEqualTo(GameStatus.IN_PROGRESS);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.X);
+        assertThat(game.board()).isEqualTo(GameBoard.empty(15, 5));
+        assertThat(saved.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldLoadLatestSnapshot() {
+        // given
+        GameEntity saved = gameRepository.save(GameEntity.builder().build());
+        GameBoard first = GameBoard.empty().place(0, 0, PlayerSymbol.X);
+        GameBoard latest = first.place(1, 1, PlayerSymbol.O);
+        gameSnapshotRepository.saveAll(List.of(
+                snapshot(saved, latest, GameStatus.IN_PROGRESS, PlayerSymbol.X),
+                snapshot(saved, first, GameStatus.IN_PROGRESS, PlayerSymbol.O)));
 
         // when
-        GameEntity saved = gameRepository.save(game);
+        GameDto game = gameRepository.findStateById(saved.getId()).orElseThrow();
 
         // then
-        Optional<GameEntity> found = gameRepository.findById(saved.getId());
-        assertThat(found).isPresent();
-        assertThat(found.get().getPlayerTurn()).isEqualTo(PlayerSymbol.X);
-        assertThat(found.get().getStatus()).isEqualTo(GameStatus.IN_PROGRESS);
-        assertThat(found.get().getCreatedAt()).isNotNull();
+        assertThat(game.board()).isEqualTo(latest);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.X);
+    }
+
+    private GameSnapshotEntity snapshot(GameEntity game, GameBoard board, GameStatus status, PlayerSymbol playerTurn) {
+        return GameSnapshotEntity.builder()
+                .game(game)
+                .seq(board.moveCount())
+                .status(status)
+                .playerTurn(playerTurn)
+                .xCells(board.xCellBytes())
+                .oCells(board.oCellBytes())
+                .build();
     }
 }
@@ -0,0 +1,144 @@
+package softcore.tictactoe.persistance.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.model.dto.GameDto;
+import softcore.tictactoe.domain.model.entity.GameEntity;
+import softcore.tictactoe.domain.model.entity.GameSnapshotEntity;
+import softcore.tictactoe.domain.model.entity.MoveEntity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GameSnapshotBatchRepository.class)
+class GameSnapshotBatchRepositoryIT extends BaseDatabaseTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private MoveRepository moveRepository;
+
+    @Autowired
+    private GameSnapshotRepository gameSnapshotRepository;
+
+    @Autowired
+    private GameSnapshotBatchRepository gameSnapshotBatchRepository;
+
+    @Test
+    void shouldAbandonIdleGamesUnlessMovedSince() {
+        // given
+        GameEntity idle = gameRepository.save(GameEntity.builder().build());
+        GameEntity moved = gameRepository.save(GameEntity.builder().build());
+        GameDto idleState = GameDto.fromEntity(idle).withMove(1, 1, PlayerSymbol.X);
+        GameDto staleState = GameDto.fromEntity(moved);
+        saveMove(idle, 1, 1, 1, PlayerSymbol.X);
+        saveMove(moved, 1, 0, 0, PlayerSymbol.X);
+        gameRepository.flush();
+
+        // when
+        List<UUID> abandoned = gameSnapshotBatchRepository.insertAbandoned(List.of(idleState, staleState));
+
+        // then
+        assertThat(abandoned).containsExactly(idle.getId());
+
+        GameDto game = gameRepository.findStateById(idle.getId()).orElseThrow();
+        assertThat(game.status()).isEqualTo(GameStatus.ABANDONED);
+        assertThat(game.playerTurn()).isEqualTo(PlayerSymbol.O);
+        assertThat(game.board()).isEqualTo(idleState.board());
+        assertThat(gameRepository.findStateById(moved.getId()).orElseThrow().status()).isEqualTo(GameStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldMarkSnapshotAtSameSeqAbandoned() {
+        // given
+        GameEntity idle = gameRepository.save(GameEntity.builder().build());
+        GameDto state = GameDto.fromEntity(idle).withMove(1, 1, PlayerSymbol.X);
+        saveMove(idle, 1, 1, 1, PlayerSymbol.X);
+        gameSnapshotRepository.save(GameSnapshotEntity.builder()
+                .game(idle).seq(1).status(GameStatus.IN_PROGRESS).playerTurn(PlayerSymbol.O)
+                .xCells(state.board().xCellBytes()).oCells(state.board().oCellBytes())
+                .build());
+        gameRepository.flush();
+
+        // when
+        List<UUID> abandoned = gameSnapshotBatchRepository.insertAbandoned(List.of(state));
+
+        // then
+        assertThat(abandoned).containsExactly(idle.getId());
+        assertThat(gameRepository.findStateById(idle.getId()).orElseThrow().status()).isEqualTo(GameStatus.ABANDONED);
+    }
+
+    @Test
+    void shouldRejectMovesOfAbandonedGames() {
+        // given
+        GameEntity idle = gameRepository.save(GameEntity.builder().build());
+        GameEntity active = gameRepository.save(GameEntity.builder().build());
+        GameDto state = GameDto.fromEntity(idle).withMove(1, 1, PlayerSymbol.X);
+        saveMove(idle, 1, 1, 1, PlayerSymbol.X);
+        gameRepository.flush();
+        gameSnapshotBatchRepository.insertAbandoned(List.of(state));
+
+        // when / then
+        gameSnapshotBatchRepository.requireInProgress(List.of(active.getId()));
+        assertThatThrownBy(() -> gameSnapshotBatchRepository.requireInProgress(List.of(active.getId(), idle.getId())))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining(idle.getId().toString());
+    }
+
+    @Test
+    void shouldReadGamesInProgressWithTheirLastMove() {
+        // given
+        GameEntity fresh = gameRepository.save(GameEntity.builder().build());
+        GameEntity played = gameRepository.save(GameEntity.builder().build());
+        GameEntity abandoned = gameRepository.save(GameEntity.builder().build());
+        GameDto snapshotState = GameDto.fromEntity(played).withMove(1, 1, PlayerSymbol.X);
+        saveMove(played, 1, 1, 1, PlayerSymbol.X);
+        gameSnapshotRepository.save(GameSnapshotEntity.builder()
+                .game(played).seq(1).status(GameStatus.IN_PROGRESS).playerTurn(PlayerSymbol.O)
+                .xCells(snapshotState.board().xCellBytes()).oCells(snapshotState.board().oCellBytes())
+                .build());
+        MoveEntity lastMove = saveMove(played, 2, 0, 0, PlayerSymbol.O);
+        saveMove(abandoned, 1, 1, 1, PlayerSymbol.X);
+        gameRepository.flush();
+        gameSnapshotBatchRepository.insertAbandoned(List.of(GameDto.fromEntity(abandoned).withMove(1, 1, PlayerSymbol.X)));
+
+        // when
+        Map<UUID, GameDto> states = new HashMap<>();
+        Map<UUID, LocalDateTime> lastMoves = new HashMap<>();
+        gameSnapshotBatchRepository.forEachInProgress((game, lastMoveAt) -> {
+            states.put(game.id(), game);
+            lastMoves.put(game.id(), lastMoveAt);
+        });
+
+        // then
+        assertThat(states).containsOnlyKeys(fresh.getId(), played.getId());
+        assertThat(states.get(fresh.getId()).board().moveCount()).isZero();
+        assertThat(lastMoves.get(fresh.getId())).isEqualToIgnoringNanos(fresh.getCreatedAt());
+        assertThat(states.get(played.getId())).isEqualTo(snapshotState.withMove(0, 0, PlayerSymbol.O));
+        assertThat(lastMoves.get(played.getId())).isEqualToIgnoringNanos(lastMove.getCreatedAt());
+    }
+
+    private MoveEntity saveMove(GameEntity game, int seq, int x, int y, PlayerSymbol player) {
+        return moveRepository.save(MoveEntity.builder()
+                .game(game).seq(seq).xAxis(x).yAxis(y).player(player)
+                .build());
+    }
+}
@@ -6,8 +6,8 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.domain.model.dto.MoveDto;
 import softcore.tictactoe.domain.model.entity.GameEntity;
-import softcore.tictactoe.common.enums.GameStatus;
 import softcore.tictactoe.domain.model.entity.MoveEntity;
 import softcore.tictactoe.common.enums.PlayerSymbol;
 
@@ -29,33 +29,32 @@ class MoveRepositoryIT extends BaseDatabaseTest {
     @Test
     void shouldSaveAndLoadMovesForGame() {
         // given
-        GameEntity game = GameEntity.builder()
-                .playerTurn(PlayerSymbol.X)
-                .status(GameStatus.IN_PROGRESS)
-                .build();
+        GameEntity game = GameEntity.builder().build();
 
         gameRepository.save(game);
 
         MoveEntity firstMove = MoveEntity.builder()
                 .game(game)
+                .seq(1)
                 .player(PlayerSymbol.X)
                 .xAxis(0).yAxis(0)
                 .build();
 
         MoveEntity secondMove = MoveEntity.builder()
                 .game(game)
+                .seq(2)
                 .player(PlayerSymbol.O)
                 .xAxis(1).yAxis(1)
                 .build();
 
-        moveRepository.saveAll(List.of(firstMove, secondMove));
+        moveRepository.saveAll(List.of(secondMove, firstMove));
 
         // when
-        List<MoveEntity> moves = moveRepository.findAllByGameIdOrderByCreatedAtAsc(game.getId());
+        List<MoveDto> moves = moveRepository.findByGameIdOrderBySeqAsc(game.getId());
 
         // then
-        assertThat(moves).hasSize(2);
-        assertThat(moves.get(0).getPlayer()).isEqualTo(PlayerSymbol.X);
-        assertThat(moves.get(1).getPlayer()).isEqualTo(PlayerSymbol.O);
+        assertThat(moves).containsExactly(
+                new MoveDto(0, 0, PlayerSymbol.X),
+                new MoveDto(1, 1, PlayerSymbol.O));
     }
 }
@@ -0,0 +1,63 @@
+package softcore.tictactoe.persistance.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import softcore.tictactoe.BaseDatabaseTest;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.dto.PlayerStatsDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PlayerStatsRepository.class)
+class PlayerStatsRepositoryIT extends BaseDatabaseTest {
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Test
+    void shouldAccumulateResultsAndTrackWinStreaks() {
+        // given
+        GamePlayers players = new GamePlayers("stats-alice", "stats-bob");
+        playerStatsRepository.recordResult(players, GameStatus.X_WINS);
+        playerStatsRepository.recordResult(players, GameStatus.X_WINS);
+        playerStatsRepository.recordResult(players, GameStatus.DRAW);
+
+        // when
+        List<PlayerStatsDto> updated = playerStatsRepository.recordResult(players, GameStatus.X_WINS);
+
+        // then
+        assertThat(updated).containsExactlyInAnyOrder(
+                new PlayerStatsDto("stats-alice", 3, 0, 1, 1, 2),
+                new PlayerStatsDto("stats-bob", 0, 3, 1, 0, 0));
+        assertThat(playerStatsRepository.findById("stats-alice")).hasValue(updated.stream()
+                .filter(stats -> stats.playerId().equals("stats-alice")).findFirst().orElseThrow());
+    }
+
+    @Test
+    void shouldCountOnlyIdentifiedPlayersAndReadTopByWins() {
+        // given
+        playerStatsRepository.recordResult(new GamePlayers(null, "top-carol"), GameStatus.O_WINS);
+        playerStatsRepository.recordResult(new GamePlayers("top-carol", "top-dave"), GameStatus.X_WINS);
+        playerStatsRepository.recordResult(new GamePlayers("top-erin", "top-dave"), GameStatus.X_WINS);
+
+        // when
+        List<PlayerStatsDto> top = playerStatsRepository.findTopByWins(1000).stream()
+                .filter(stats -> stats.playerId().startsWith("top-"))
+                .toList();
+
+        // then
+        assertThat(top).extracting(PlayerStatsDto::playerId).containsExactly("top-carol", "top-erin", "top-dave");
+        assertThat(top.getFirst().currentStreak()).isEqualTo(2);
+        assertThat(playerStatsRepository.findById("top-dave").orElseThrow().losses()).isEqualTo(2);
+    }
+}
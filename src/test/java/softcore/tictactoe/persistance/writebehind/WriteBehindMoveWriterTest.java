@@ -0,0 +1,246 @@
+package softcore.tictactoe.persistance.writebehind;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
+import softcore.tictactoe.common.enums.GameStatus;
+import softcore.tictactoe.common.enums.PlayerSymbol;
+import softcore.tictactoe.domain.cache.GameStateCache;
+import softcore.tictactoe.domain.event.GameFinishedEvent;
+import softcore.tictactoe.domain.model.dto.GamePlayers;
+import softcore.tictactoe.domain.model.entity.MoveEntity;
+import softcore.tictactoe.domain.reaper.GameReaperProperties;
+import softcore.tictactoe.persistance.repository.GameSnapshotBatchRepository;
+import softcore.tictactoe.persistance.repository.MoveBatchRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindMoveWriterTest {
+
+    private static final UUID FIRST_GAME = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SECOND_GAME = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Mock
+    private MoveBatchRepository moveBatchRepository;
+
+    @Mock
+    private GameSnapshotBatchRepository gameSnapshotBatchRepository;
+
+    @Mock
+    private GameStateCache gameStateCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private WriteBehindMoveWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = writer(10);
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void shouldWriteQueuedMovesOfAllGamesInOneBatch() {
+        // given
+        writer.enqueue(write(FIRST_GAME));
+        writer.enqueue(write(SECOND_GAME));
+
+        // when
+        writer.flush();
+
+        // then
+        verify(moveBatchRepository).insertAll(argThat((List<PendingWrite> writes) -> writes.size() == 2));
+        verify(gameSnapshotBatchRepository).insertAll(argThat((List<PendingWrite> writes) -> writes.size() == 2));
+        assertThat(writer.hasPending(FIRST_GAME)).isFalse();
+        assertThat(writer.hasPending(SECOND_GAME)).isFalse();
+    }
+
+    @Test
+    void shouldPublishGameFinishedOnlyOnceItsMovesAreWritten() {
+        // given
+        GameFinishedEvent finished = new GameFinishedEvent(SECOND_GAME, GameStatus.X_WINS, GamePlayers.NONE);
+        doThrow(new DuplicateKeyException("ux_move_game_id_seq")).when(moveBatchRepository).insertAll(
+                argThat((List<PendingWrite> writes) -> writes.stream().anyMatch(w -> w.gameId().equals(SECOND_GAME))));
+        writer.enqueue(new PendingWrite(FIRST_GAME, List.of(MOVE), null,
+                new GameFinishedEvent(FIRST_GAME, GameStatus.DRAW, GamePlayers.NONE)));
+        writer.enqueue(new PendingWrite(SECOND_GAME, List.of(MOVE), null, finished));
+
+        // when
+        writer.flush();
+
+        // then
+        verify(eventPublisher).publishEvent(new GameFinishedEvent(FIRST_GAME, GameStatus.DRAW, GamePlayers.NONE));
+        verify(eventPublisher, never()).publishEvent(finished);
+    }
+
+    @Test
+    void shouldDropOnlyConflictingGameWhenBatchFails() {
+        // given
+        doThrow(new DuplicateKeyException("ux_move_game_id_seq")).when(moveBatchRepository).insertAll(
+                argThat((List<PendingWrite> writes) -> writes.stream().anyMatch(w -> w.gameId().equals(SECOND_GAME))));
+        writer.enqueue(write(FIRST_GAME));
+        writer.enqueue(write(SECOND_GAME));
+
+        // when
+        writer.flush();
+
+        // then
+        verify(moveBatchRepository).insertAll(List.of(write(FIRST_GAME)));
+        verify(moveBatchRepository, times(2)).insertAll(
+                argThat((List<PendingWrite> writes) -> writes.stream().anyMatch(w -> w.gameId().equals(SECOND_GAME))));
+        verify(gameStateCache).evict(SECOND_GAME);
+        assertThat(writer.hasPending(SECOND_GAME)).isFalse();
+    }
+
+    @Test
+    void shouldDropLaterWritesOfGameOnceOneWasDropped() {
+        // given
+        doThrow(new DuplicateKeyException("ux_move_game_id_seq")).when(moveBatchRepository).insertAll(
+                argThat((List<PendingWrite> writes) -> writes.stream().anyMatch(w -> w.gameId().equals(SECOND_GAME))));
+        writer.enqueue(write(SECOND_GAME));
+        writer.enqueue(write(SECOND_GAME));
+        writer.enqueue(write(FIRST_GAME));
+
+        // when
+        writer.flush();
+
+        // then
+        verify(moveBatchRepository).insertAll(List.of(write(FIRST_GAME)));
+        verify(moveBatchRepository, times(2)).insertAll(
+                argThat((List<PendingWrite> writes) -> writes.stream().anyMatch(w -> w.gameId().equals(SECOND_GAME))));
+        assertThat(writer.hasPending(SECOND_GAME)).isFalse();
+    }
+
+    @Test
+    void shouldDropWritesOfFailedGameUntilItRecovered() {
+        // given
+        DuplicateKeyException conflict = new DuplicateKeyException("ux_move_game_id_seq");
+        doThrow(conflict).doThrow(conflict).doNothing()
+                .when(moveBatchRepository).insertAll(List.of(write(SECOND_GAME)));
+        writer.enqueue(write(SECOND_GAME));
+        writer.flush();
+        writer.enqueue(write(SECOND_GAME));
+
+        // when
+        writer.flush();
+        boolean failedBeforeRecovery = writer.isFailed(SECOND_GAME);
+        writer.recovered(SECOND_GAME);
+        writer.enqueue(write(SECOND_GAME));
+        writer.flush();
+
+        // then
+        assertThat(failedBeforeRecovery).isTrue();
+        assertThat(writer.isFailed(SECOND_GAME)).isFalse();
+        verify(moveBatchRepository, times(3)).insertAll(List.of(write(SECOND_GAME)));
+    }
+
+    @Test
+    void shouldRetryTransientFailureBeforeDropping() {
+        // given
+        doThrow(new QueryTimeoutException("statement timeout")).doNothing()
+                .when(moveBatchRepository).insertAll(List.of(write(FIRST_GAME)));
+        writer.enqueue(write(FIRST_GAME));
+
+        // when
+        writer.flush();
+
+        // then
+        verify(moveBatchRepository, times(2)).insertAll(List.of(write(FIRST_GAME)));
+        verify(gameStateCache, never()).evict(FIRST_GAME);
+        assertThat(writer.isFailed(FIRST_GAME)).isFalse();
+        assertThat(writer.hasPending(FIRST_GAME)).isFalse();
+    }
+
+    @Test
+    void shouldWaitForRoomUntilWorkerDrainsFullQueue() {
+        // given
+        writer.stop();
+        writer = writer(1, Duration.ofSeconds(5));
+        writer.start();
+        writer.enqueue(write(FIRST_GAME));
+
+        // when
+        writer.awaitCapacity();
+
+        // then
+        verify(moveBatchRepository).insertAll(List.of(write(FIRST_GAME)));
+    }
+
+    @Test
+    void shouldRejectMoveWhenQueueIsFull() {
+        // given
+        writer.stop();
+        writer = writer(1);
+        writer.start();
+        writer.enqueue(write(FIRST_GAME));
+
+        // when / then
+        assertThatThrownBy(() -> writer.enqueue(write(SECOND_GAME)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("queue is full");
+        assertThat(writer.hasPending(SECOND_GAME)).isFalse();
+    }
+
+    @Test
+    void shouldFlushQueuedMovesOnStop() {
+        // given
+        writer.enqueue(write(FIRST_GAME));
+
+        // when
+        writer.stop();
+
+        // then
+        verify(moveBatchRepository).insertAll(List.of(write(FIRST_GAME)));
+        assertThatThrownBy(() -> writer.enqueue(write(SECOND_GAME)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private WriteBehindMoveWriter writer(int queueCapacity) {
+        return writer(queueCapacity, Duration.ZERO);
+    }
+
+    private WriteBehindMoveWriter writer(int queueCapacity, Duration offerTimeout) {
+        WriteBehindProperties properties = new WriteBehindProperties(
+                true, Duration.ofHours(1), 100, queueCapacity, offerTimeout, Duration.ofSeconds(1));
+        GameReaperProperties reaperProperties = new GameReaperProperties(
+                false, Duration.ofHours(1), Duration.ofSeconds(1), 100);
+        return new WriteBehindMoveWriter(properties, reaperProperties, moveBatchRepository, gameSnapshotBatchRepository,
+                TransactionOperations.withoutTransaction(), gameStateCache, eventPublisher, new SimpleMeterRegistry());
+    }
+
+    private PendingWrite write(UUID gameId) {
+        return new PendingWrite(gameId, List.of(MOVE), null, null);
+    }
+
+    private static final MoveEntity MOVE = MoveEntity.builder()
+            .seq(1)
+            .xAxis(0)
+            .yAxis(0)
+            .player(PlayerSymbol.X)
+            .build();
+}